@@ -0,0 +1,45 @@
+package prep.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * Entry point of benchmarks.jar.
+ * Accepts the regular JMH command line and always attaches the GC profiler,
+ * so every result carries gc.alloc.rate.norm (bytes/op) next to the throughput.
+ *
+ * Usage: java -jar target/benchmarks.jar [jmh options] [benchmark regexp]
+ * e.g.   java -jar target/benchmarks.jar DevsistersTask2 -p size=1000,100000
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListProfilers() || cli.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (!hasGcProfiler(cli)) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static boolean hasGcProfiler(CommandLineOptions cli) {
+        for (ProfilerConfig profiler : cli.getProfilers()) {
+            String klass = profiler.getKlass();
+            if ("gc".equals(klass) || GCProfiler.class.getName().equals(klass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,101 @@
+package prep.bench;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeded input generators shared by the benchmark states.
+ * Every generator takes its own salt so that two states asking for "the same" data
+ * at the same size get identical arrays across forks and runs.
+ */
+public final class Inputs {
+
+    public static final long SEED = 0x5EED_2025L;
+
+    private Inputs() {}
+
+    public static SplittableRandom random(long salt) {
+        return new SplittableRandom(SEED ^ (salt * 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * Uniform ints in [origin, bound).
+     */
+    public static int[] ints(long salt, int n, int origin, int bound) {
+        SplittableRandom rnd = random(salt);
+        int[] out = new int[n];
+        for (int i = 0; i < n; i++) {
+            out[i] = rnd.nextInt(origin, bound);
+        }
+        return out;
+    }
+
+    /**
+     * Non-decreasing timestamps starting at 0 with gaps in [0, maxGap].
+     */
+    public static int[] ascending(long salt, int n, int maxGap) {
+        SplittableRandom rnd = random(salt);
+        int[] out = new int[n];
+        int t = 0;
+        for (int i = 0; i < n; i++) {
+            t += rnd.nextInt(maxGap + 1);
+            out[i] = t;
+        }
+        return out;
+    }
+
+    /**
+     * ASCII '0'/'1' string of the given length whose first character is '1'.
+     */
+    public static String binaryString(long salt, int length) {
+        SplittableRandom rnd = random(salt);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = rnd.nextBoolean() ? '1' : '0';
+        }
+        if (length > 0) {
+            chars[0] = '1';
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Mixed-case ASCII letters of the given length.
+     */
+    public static String letters(long salt, int length) {
+        SplittableRandom rnd = random(salt);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            char base = rnd.nextBoolean() ? 'A' : 'a';
+            chars[i] = (char) (base + rnd.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Square-ish board with side = ceil(sqrt(cells)) and digits in [0, 9].
+     */
+    public static int[][] digitBoard(long salt, int cells) {
+        int side = (int) Math.ceil(Math.sqrt(cells));
+        SplittableRandom rnd = random(salt);
+        int[][] board = new int[side][side];
+        for (int[] row : board) {
+            for (int c = 0; c < side; c++) {
+                row[c] = rnd.nextInt(10);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * In-place Fisher-Yates shuffle.
+     */
+    public static void shuffle(long salt, int[] values) {
+        SplittableRandom rnd = random(salt);
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package prep.devsisters.task1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stamina/potion simulation over a day of plays. size is the number of plays; the batch
+ * benchmarks spread the same plays over size / 100 players with 100 plays each.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class DevsistersTask1Benchmark {
+
+    private static final int PLAYS_PER_PLAYER = 100;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private int[][] plays;
+
+    private int[] playTime;
+    private int[] staminaNeeded;
+    private int[] playOffsets;
+    private int[] maxStamina;
+    private int[] initialStamina;
+    private int[] recovery;
+    private int[] potionAmount;
+
+    @Setup
+    public void setup() {
+        int[] times = Inputs.ascending(1, size, 10);
+        int[] needed = Inputs.ints(2, size, 1, 50);
+        plays = new int[size][];
+        for (int i = 0; i < size; i++) {
+            plays[i] = new int[] {times[i], needed[i]};
+        }
+
+        int players = Math.max(1, size / PLAYS_PER_PLAYER);
+        playTime = new int[size];
+        staminaNeeded = needed;
+        playOffsets = new int[players + 1];
+        for (int p = 0; p < players; p++) {
+            int from = p * PLAYS_PER_PLAYER;
+            int to = p == players - 1 ? size : from + PLAYS_PER_PLAYER;
+            playOffsets[p + 1] = to;
+            for (int i = from; i < to; i++) {
+                playTime[i] = times[i] - times[from];
+            }
+        }
+        maxStamina = Inputs.ints(3, players, 50, 150);
+        initialStamina = Inputs.ints(4, players, 0, 50);
+        recovery = Inputs.ints(5, players, 1, 10);
+        potionAmount = Inputs.ints(6, players, 10, 30);
+    }
+
+    @Benchmark
+    public int solution() {
+        return solution.solution(100, 50, 5, 20, plays);
+    }
+
+    @Benchmark
+    public long[] batch() {
+        return solution.solutionBatch(maxStamina, initialStamina, recovery, potionAmount,
+                                      playOffsets, playTime, staminaNeeded, false);
+    }
+
+    @Benchmark
+    public long[] batchParallel() {
+        return solution.solutionBatch(maxStamina, initialStamina, recovery, potionAmount,
+                                      playOffsets, playTime, staminaNeeded, true);
+    }
+
+    @Benchmark
+    public long whatIfQuery(WhatIfState state) {
+        int play = state.nextPlay();
+        return state.index.potionsIfStaminaNeeded(play, (staminaNeeded[play] + 7) % 50 + 1);
+    }
+
+    @Benchmark
+    public int whatIfReplay(WhatIfState state) {
+        int play = state.nextPlay();
+        int[] edited = plays[play];
+        int original = edited[1];
+        edited[1] = (original + 7) % 50 + 1;
+        int result = solution.solution(100, 50, 5, 20, plays);
+        edited[1] = original;
+        return result;
+    }
+
+    /**
+     * What-if index over the single-player schedule, built once per trial.
+     */
+    @State(Scope.Benchmark)
+    public static class WhatIfState {
+        Solution.StaminaScheduleIndex index;
+        private int cursor;
+
+        @Setup
+        public void setup(DevsistersTask1Benchmark benchmark) {
+            index = new Solution.StaminaScheduleIndex(100, 50, 5, 20, benchmark.plays);
+        }
+
+        int nextPlay() {
+            cursor = (cursor + 7919) % index.size();
+            return cursor;
+        }
+    }
+}
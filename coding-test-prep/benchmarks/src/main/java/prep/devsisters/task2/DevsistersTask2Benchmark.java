@@ -0,0 +1,73 @@
+package prep.devsisters.task2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guild score matching. size is the number of combination sums generated per guild:
+ * guilds pick 3 members and the guild length is the smallest n with C(n, 3) >= size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class DevsistersTask2Benchmark {
+
+    private static final int PICK = 3;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private int[] guildA;
+    private int[] guildB;
+
+    @Setup
+    public void setup() {
+        int n = PICK;
+        while (Solution.countCombinations(n, PICK) < size) {
+            n++;
+        }
+        guildA = Inputs.ints(1, n, 1, 1_000_000);
+        guildB = Inputs.ints(2, n, 1, 1_000_000);
+    }
+
+    @Benchmark
+    public int solution() {
+        return solution.solution(guildA, guildB, PICK, PICK);
+    }
+
+    @Benchmark
+    public int boxedSums() {
+        return solution.solutionWithBoxedSums(guildA, guildB, PICK, PICK);
+    }
+
+    @Benchmark
+    public int primitiveSums() {
+        return solution.solutionWithPrimitiveSums(guildA, guildB, PICK, PICK);
+    }
+
+    @Benchmark
+    public int sumBitsets() {
+        return solution.solutionWithSumBitsets(guildA, guildB, PICK, PICK);
+    }
+
+    @Benchmark
+    public int parallel() {
+        return solution.solutionParallel(guildA, guildB, PICK, PICK);
+    }
+}
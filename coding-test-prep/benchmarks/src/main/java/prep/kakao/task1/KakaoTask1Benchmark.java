@@ -0,0 +1,141 @@
+package prep.kakao.task1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import prep.bench.Inputs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential path check. size is N; the edge list holds every (i, i+1) link in random
+ * order and orientation plus N/2 random extra edges. The same edges are also written to a
+ * temporary big-endian binary file for the memory-mapped ingestion path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class KakaoTask1Benchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private int[] from;
+    private int[] to;
+    private Path edgeFile;
+
+    @Setup
+    public void setup() throws IOException {
+        int edges = (size - 1) + size / 2;
+        int[] order = new int[edges];
+        for (int i = 0; i < edges; i++) {
+            order[i] = i;
+        }
+        Inputs.shuffle(1, order);
+
+        SplittableRandom rnd = Inputs.random(2);
+        from = new int[edges];
+        to = new int[edges];
+        for (int i = 0; i < edges; i++) {
+            int id = order[i];
+            int u;
+            int v;
+            if (id < size - 1) {
+                u = id + 1;
+                v = id + 2;
+            } else {
+                u = rnd.nextInt(1, size + 1);
+                v = rnd.nextInt(1, size + 1);
+            }
+            boolean flip = rnd.nextBoolean();
+            from[i] = flip ? v : u;
+            to[i] = flip ? u : v;
+        }
+
+        edgeFile = Files.createTempFile("kakao-task1-edges", ".bin");
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.BIG_ENDIAN);
+        try (FileChannel channel = FileChannel.open(edgeFile, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < edges; i++) {
+                if (buffer.remaining() < 8) {
+                    buffer.flip();
+                    channel.write(buffer);
+                    buffer.clear();
+                }
+                buffer.putInt(from[i]).putInt(to[i]);
+            }
+            buffer.flip();
+            channel.write(buffer);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(edgeFile);
+    }
+
+    @Benchmark
+    public boolean solution() {
+        return solution.solution(size, from, to);
+    }
+
+    @Benchmark
+    public boolean bitset() {
+        return solution.solutionWithBitset(size, from, to);
+    }
+
+    @Benchmark
+    public boolean mappedFile() throws IOException {
+        return solution.solutionFromFile(size, edgeFile, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * One deletion plus re-insertion of a random edge and a path query after each.
+     */
+    @Benchmark
+    public boolean dynamicUpdate(DynamicState state, Blackhole blackhole) {
+        int i = state.nextEdge(from.length);
+        state.path.removeEdge(from[i], to[i]);
+        blackhole.consume(state.path.isSequentialPath());
+        state.path.addEdge(from[i], to[i]);
+        return state.path.isSequentialPath();
+    }
+
+    @State(Scope.Benchmark)
+    public static class DynamicState {
+        Solution.DynamicSequentialPath path;
+        private int cursor;
+
+        @Setup
+        public void setup(KakaoTask1Benchmark benchmark) {
+            path = new Solution.DynamicSequentialPath(benchmark.size);
+            path.addAll(benchmark.from, benchmark.to);
+        }
+
+        int nextEdge(int edges) {
+            cursor = (cursor + 7919) % edges;
+            return cursor;
+        }
+    }
+}
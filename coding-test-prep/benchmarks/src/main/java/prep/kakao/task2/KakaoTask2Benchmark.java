@@ -0,0 +1,67 @@
+package prep.kakao.task2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reverse number printing. size is the number of values printed per operation;
+ * System.out is swapped for a discarding stream while the trial runs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class KakaoTask2Benchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private int[] numbers;
+    private PrintStream originalOut;
+    private Solution.ReversedDigitWriter writer;
+
+    @Setup
+    public void setup() {
+        numbers = Inputs.ints(1, size, 0, Integer.MAX_VALUE);
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        writer = new Solution.ReversedDigitWriter(OutputStream.nullOutputStream());
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void solution() {
+        for (int n : numbers) {
+            solution.solution(n);
+        }
+    }
+
+    @Benchmark
+    public void batchWriter() throws IOException {
+        writer.writeAll(numbers, (byte) '\n');
+        writer.flush();
+    }
+}
@@ -0,0 +1,93 @@
+package prep.kakao.task3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Airplane seat allocation. size is N (rows); one reservation is made per ten rows.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class KakaoTask3Benchmark {
+
+    private static final String COLUMNS = "ABCDEFGHJK";
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private String reservations;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = Inputs.random(1);
+        int count = Math.max(1, size / 10);
+        StringBuilder sb = new StringBuilder(count * 9);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(rnd.nextInt(1, size + 1)).append(COLUMNS.charAt(rnd.nextInt(COLUMNS.length())));
+        }
+        reservations = sb.toString();
+    }
+
+    @Benchmark
+    public int solution() {
+        return solution.solution(size, reservations);
+    }
+
+    @Benchmark
+    public long sparse() {
+        return solution.solutionSparse(size, reservations);
+    }
+
+    /**
+     * A booking and its cancellation on a random seat, with a capacity read after each.
+     */
+    @Benchmark
+    public long seatMapUpdate(SeatMapState state) {
+        int row = state.nextRow(size);
+        char col = COLUMNS.charAt(row % COLUMNS.length());
+        state.seats.reserve(row, col);
+        long afterReserve = state.seats.familyCapacity();
+        state.seats.cancel(row, col);
+        return afterReserve + state.seats.familyCapacity();
+    }
+
+    @State(Scope.Benchmark)
+    public static class SeatMapState {
+        Solution.SeatMap seats;
+        private int cursor;
+
+        @Setup
+        public void setup(KakaoTask3Benchmark benchmark) {
+            seats = new Solution.SeatMap(benchmark.size);
+            for (String seat : benchmark.reservations.split(" ")) {
+                seats.reserve(Integer.parseInt(seat.substring(0, seat.length() - 1)), seat.charAt(seat.length() - 1));
+            }
+        }
+
+        int nextRow(int rows) {
+            cursor = (cursor + 7919) % rows;
+            return cursor + 1;
+        }
+    }
+}
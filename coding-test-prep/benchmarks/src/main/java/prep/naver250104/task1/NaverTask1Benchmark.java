@@ -0,0 +1,91 @@
+package prep.naver250104.task1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metro fare with daily cap. size is the number of rides on 1000 stations.
+ * The tap-log engine prices the same rides spread over size / 10 passengers from a temporary file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class NaverTask1Benchmark {
+
+    private static final int STATIONS = 1000;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private int[] start;
+    private int[] dest;
+    private int[] dailyLimits;
+    private Path tapLog;
+    private Solution.TapLogFareEngine engine;
+
+    @Setup
+    public void setup() throws IOException {
+        start = Inputs.ints(1, size, 1, STATIONS + 1);
+        dest = Inputs.ints(2, size, 1, STATIONS + 1);
+        dailyLimits = new int[STATIONS + 1];
+        for (int i = 0; i <= STATIONS; i++) {
+            dailyLimits[i] = 10 + 4 * i;
+        }
+
+        int[] passengers = Inputs.ints(3, size, 0, Math.max(1, size / 10));
+        tapLog = Files.createTempFile("naver-task1-taps", ".bin");
+        ByteBuffer buffer = ByteBuffer.allocate(Solution.TapLogFareEngine.RECORD_BYTES * 4096).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(tapLog, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < size; i++) {
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    channel.write(buffer);
+                    buffer.clear();
+                }
+                buffer.putLong(passengers[i]).putInt(start[i]).putInt(dest[i]);
+            }
+            buffer.flip();
+            channel.write(buffer);
+        }
+        engine = new Solution.TapLogFareEngine(dailyLimits);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(tapLog);
+    }
+
+    @Benchmark
+    public int solution() {
+        return solution.solution(start, dest, dailyLimits);
+    }
+
+    @Benchmark
+    public long tapLogEngine() throws IOException {
+        return engine.price(tapLog, ByteOrder.LITTLE_ENDIAN).totalRevenue;
+    }
+}
@@ -0,0 +1,104 @@
+package prep.naver250104.task2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pizza discount optimization. size is the number of order lines over a 20-pizza menu,
+ * each line ordering 1..3 units. The batch benchmarks split the same lines into carts of 10;
+ * the stacked-deal optimizer runs on the first 50 lines, whatever the size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class NaverTask2Benchmark {
+
+    private static final int MENU_SIZE = 20;
+    private static final String[] SIZES = {"Small", "Medium", "Large"};
+    private static final int CART_LINES = 10;
+    private static final int STACKED_CART_LINES = 50;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private Solution.Pizza[] menu;
+    private Solution.OrderItem[] order;
+    private Solution.OrderItem[][] carts;
+    private Solution.MenuSnapshot snapshot;
+    private Solution.OrderItem[] stackedCart;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = Inputs.random(1);
+        menu = new Solution.Pizza[MENU_SIZE];
+        for (int i = 0; i < MENU_SIZE; i++) {
+            int small = rnd.nextInt(10, 20);
+            int medium = small + rnd.nextInt(1, 6);
+            int large = medium + rnd.nextInt(1, 6);
+            menu[i] = new Solution.Pizza("pizza-" + i, small, medium, large);
+        }
+
+        order = new Solution.OrderItem[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = new Solution.OrderItem(
+                    menu[rnd.nextInt(MENU_SIZE)].name,
+                    SIZES[rnd.nextInt(SIZES.length)],
+                    rnd.nextInt(1, 4));
+        }
+
+        carts = new Solution.OrderItem[(size + CART_LINES - 1) / CART_LINES][];
+        for (int c = 0; c < carts.length; c++) {
+            int from = c * CART_LINES;
+            carts[c] = Arrays.copyOfRange(order, from, Math.min(size, from + CART_LINES));
+        }
+        snapshot = Solution.MenuSnapshot.compile(menu);
+        stackedCart = Arrays.copyOf(order, Math.min(size, STACKED_CART_LINES));
+    }
+
+    @Benchmark
+    public int solution() {
+        return solution.solution(menu, order);
+    }
+
+    @Benchmark
+    public int multiPass() {
+        return solution.solutionMultiPass(menu, order);
+    }
+
+    @Benchmark
+    public int cartsRecompilingMenu() {
+        int sum = 0;
+        for (Solution.OrderItem[] cart : carts) {
+            sum += solution.solution(menu, cart);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int[] cartsBatchQuote() {
+        return Solution.quote(snapshot, carts);
+    }
+
+    @Benchmark
+    public int stackedCart50() {
+        return Solution.optimizeStacked(snapshot, stackedCart).cost;
+    }
+}
@@ -0,0 +1,96 @@
+package prep.practice250830.task1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nested log level parsing. size is the number of log lines; about 40% are tags
+ * drawn from 16 level names, the rest are messages. The same lines are also written
+ * newline-separated to a temporary file for the memory-mapped streaming path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class LogLevelParserBenchmark {
+
+    private static final int LEVEL_NAMES = 16;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private final WritableByteChannel sink = Channels.newChannel(OutputStream.nullOutputStream());
+    private String[] logs;
+    private Path logFile;
+
+    @Setup
+    public void setup() throws IOException {
+        logs = generate(1, size);
+        logFile = Files.createTempFile("practice-task1-logs", ".log");
+        Files.write(logFile, String.join("\n", logs).getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public String solution() {
+        return solution.solution(logs);
+    }
+
+    @Benchmark
+    public long streamingFromFile() throws IOException {
+        return solution.solutionFromFile(logFile, sink);
+    }
+
+    @Benchmark
+    public long parallelFromFile() throws IOException {
+        return solution.solutionParallel(logFile, sink);
+    }
+
+    static String[] generate(long salt, int lines) {
+        SplittableRandom rnd = Inputs.random(salt);
+        String[] out = new String[lines];
+        int[] stack = new int[lines];
+        int depth = 0;
+        for (int i = 0; i < lines; i++) {
+            int roll = rnd.nextInt(10);
+            if (roll < 2) {
+                int level = rnd.nextInt(LEVEL_NAMES);
+                stack[depth++] = level;
+                out[i] = "<[LEVEL" + level + "]";
+            } else if (roll < 4 && depth > 0) {
+                out[i] = "<[/LEVEL" + stack[--depth] + "]";
+            } else {
+                out[i] = "message " + i;
+            }
+        }
+        return out;
+    }
+}
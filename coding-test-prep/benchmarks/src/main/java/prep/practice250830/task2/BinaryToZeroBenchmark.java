@@ -0,0 +1,85 @@
+package prep.practice250830.task2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary string reduction. size is the number of bits. The same bits are also packed into a
+ * long[] and written as ASCII digits to a temporary file for the memory-mapped path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BinaryToZeroBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private String bits;
+    private long[] words;
+    private Path bitFile;
+
+    @Setup
+    public void setup() throws IOException {
+        bits = Inputs.binaryString(1, size);
+        words = new long[(size + 63) / 64];
+        for (int i = 0; i < size; i++) {
+            if (bits.charAt(size - 1 - i) == '1') {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+        bitFile = Files.createTempFile("practice-task2-bits", ".txt");
+        Files.write(bitFile, bits.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(bitFile);
+    }
+
+    @Benchmark
+    public int solution() {
+        return solution.solution(bits);
+    }
+
+    @Benchmark
+    public long packed() {
+        return solution.solution(words, false);
+    }
+
+    @Benchmark
+    public long packedParallel() {
+        return solution.solution(words, true);
+    }
+
+    @Benchmark
+    public long mappedFile() throws IOException {
+        return solution.solutionFromFile(bitFile, false);
+    }
+
+    @Benchmark
+    public long mappedFileParallel() throws IOException {
+        return solution.solutionFromFile(bitFile, true);
+    }
+}
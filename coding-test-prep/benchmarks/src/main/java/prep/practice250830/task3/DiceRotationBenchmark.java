@@ -0,0 +1,69 @@
+package prep.practice250830.task3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dice rotation. size is the number of dice; every die shows a 3 on one face,
+ * so the A[0]/B[0] candidate scan runs to the end instead of aborting early.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class DiceRotationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private int[] top;
+    private int[] bottom;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = Inputs.random(1);
+        top = new int[size];
+        bottom = new int[size];
+        for (int i = 0; i < size; i++) {
+            int other = rnd.nextInt(1, 7);
+            if (rnd.nextBoolean()) {
+                top[i] = 3;
+                bottom[i] = other;
+            } else {
+                top[i] = other;
+                bottom[i] = 3;
+            }
+        }
+    }
+
+    @Benchmark
+    public int solution() {
+        return solution.solution(top, bottom);
+    }
+
+    @Benchmark
+    public int singlePass() {
+        return solution.solutionSinglePass(top, bottom);
+    }
+
+    @Benchmark
+    public int parallel() {
+        return solution.solutionParallel(top, bottom);
+    }
+}
@@ -0,0 +1,56 @@
+package prep.practice250904.task2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URL building with sorted query parameters. size is the number of parameters.
+ * Capped at 10^6: the TreeMap copy of 10^7 String pairs does not fit the 4g fork heap.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class UrlBuilderBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private Map<String, String> params;
+
+    @Setup
+    public void setup() {
+        int[] keys = Inputs.ints(1, size, 0, Integer.MAX_VALUE);
+        params = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            params.put("k" + keys[i], "v" + i);
+        }
+    }
+
+    @Benchmark
+    public String build() {
+        return new UrlBuilder()
+                .https()
+                .host("example.com")
+                .port(8443)
+                .path("api/v1/search")
+                .queryParams(params)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package prep.practice250904.task3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimum MEX. size is the array length; A[i] == B[i] for about half the indices.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class MinimumMexBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private int[] a;
+    private int[] b;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = Inputs.random(1);
+        a = new int[size];
+        b = new int[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = rnd.nextInt(1, size + 1);
+            b[i] = rnd.nextBoolean() ? a[i] : rnd.nextInt(1, size + 1);
+        }
+    }
+
+    @Benchmark
+    public int solution() {
+        return solution.solution(a, b);
+    }
+}
@@ -0,0 +1,61 @@
+package prep.practice250917.task1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board game score. size is the number of moves on a fixed 1000x1000 board.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BoardGameScoreBenchmark {
+
+    private static final int SIDE = 1000;
+    private static final String DIRECTIONS = "UDLR";
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private int[][] board;
+    private int[][] cellTypes;
+    private String moves;
+
+    @Setup
+    public void setup() {
+        board = Inputs.digitBoard(1, SIDE * SIDE);
+        cellTypes = new int[SIDE][];
+        for (int r = 0; r < SIDE; r++) {
+            cellTypes[r] = Inputs.ints(2 + r, SIDE, 0, 3);
+        }
+
+        SplittableRandom rnd = Inputs.random(3);
+        char[] chars = new char[size];
+        for (int i = 0; i < size; i++) {
+            chars[i] = DIRECTIONS.charAt(rnd.nextInt(DIRECTIONS.length()));
+        }
+        moves = new String(chars);
+    }
+
+    @Benchmark
+    public int solution() {
+        return solution.solution(board, cellTypes, moves);
+    }
+}
@@ -0,0 +1,46 @@
+package prep.practice250917.task2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Max 4-digit number on a board. size is the number of cells.
+ * The solution allocates a full visited[][] per start cell, so the cost grows with
+ * cells^2; the default range stops at 10^4 and larger boards can be requested with -p size=.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class NumberFormation2Benchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private final Solution solution = new Solution();
+    private int[][] board;
+
+    @Setup
+    public void setup() {
+        board = Inputs.digitBoard(1, size);
+    }
+
+    @Benchmark
+    public int solution() {
+        return solution.solution(board);
+    }
+}
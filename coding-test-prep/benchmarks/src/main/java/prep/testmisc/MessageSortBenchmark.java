@@ -0,0 +1,54 @@
+package prep.testmisc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import prep.bench.Inputs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message sorting by (timestamp, user). size is the number of messages.
+ * sortMessages sorts in place, so each operation includes copying the unsorted input.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class MessageSortBenchmark {
+
+    private static final String[] USERS = {"Alice", "Bob", "Charlie", "Dave", "Eve", "Mallory", "Trent"};
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final Test_Solution solution = new Test_Solution();
+    private List<Test_Solution.Message> messages;
+
+    @Setup
+    public void setup() {
+        int[] users = Inputs.ints(1, size, 0, USERS.length);
+        int[] timestamps = Inputs.ints(2, size, 0, size);
+        messages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            messages.add(new Test_Solution.Message(USERS[users[i]], "m" + i, timestamps[i]));
+        }
+    }
+
+    @Benchmark
+    public List<Test_Solution.Message> sortMessages() {
+        return solution.sortMessages(new ArrayList<>(messages));
+    }
+}
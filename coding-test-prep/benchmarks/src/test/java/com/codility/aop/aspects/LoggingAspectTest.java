@@ -0,0 +1,104 @@
+package com.codility.aop.aspects;
+
+import com.codility.aop.annotations.Log;
+import com.codility.aop.log.EntitySaveLogDto;
+import com.codility.aop.log.EntitySaveTimeLogDto;
+import com.codility.aop.log.ExceptionLogDto;
+import com.codility.aop.log.InvocationLogDto;
+import com.codility.aop.log.LogFacade;
+import com.codility.aop.log.ReturnLogDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs LoggingAspect through a real Spring AOP proxy, whose join points are new objects per call.
+ */
+class LoggingAspectTest {
+
+    public interface Greeter {
+        String greet(String name);
+    }
+
+    public static class LoggedGreeter implements Greeter {
+        @Log
+        @Override
+        public String greet(String name) {
+            return "Hello, " + name;
+        }
+    }
+
+    @Test
+    void cachesNamesOncePerAdvisedMethod() throws ReflectiveOperationException {
+        RecordingLogFacade logFacade = new RecordingLogFacade();
+        LoggingAspect aspect = new LoggingAspect(logFacade);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new LoggedGreeter());
+        factory.addAspect(aspect);
+        Greeter greeter = factory.getProxy();
+
+        greeter.greet("Ann");
+        greeter.greet("Bob");
+
+        assertEquals(1, namesByMethod(aspect).size());
+        assertEquals(2, logFacade.invocations.size());
+        for (InvocationLogDto invocation : logFacade.invocations) {
+            assertEquals(Greeter.class.getName(), invocation.className);
+            assertEquals("greet", invocation.methodName);
+        }
+    }
+
+    @Test
+    void journalSkipsStraySegmentNames(@TempDir Path directory) throws IOException {
+        Files.createFile(directory.resolve("entity-saves-old.journal"));
+
+        try (LoggingAspect.EntitySaveJournal journal = new LoggingAspect.EntitySaveJournal(directory, 4096)) {
+            journal.appendEntitySave("com.example.Meeting", 42L);
+        }
+
+        List<String> classNames = new ArrayList<>();
+        LoggingAspect.EntitySaveJournalReader reader = new LoggingAspect.EntitySaveJournalReader(directory);
+        reader.poll((kind, className, entityId, timestampMillis, durationNanos) -> classNames.add(className), 10);
+        assertEquals(List.of("com.example.Meeting"), classNames);
+    }
+
+    private static Map<?, ?> namesByMethod(LoggingAspect aspect) throws ReflectiveOperationException {
+        Field field = LoggingAspect.class.getDeclaredField("namesByMethod");
+        field.setAccessible(true);
+        return (Map<?, ?>) field.get(aspect);
+    }
+
+    private static final class RecordingLogFacade implements LogFacade {
+        final List<InvocationLogDto> invocations = new ArrayList<>();
+
+        @Override
+        public void logInvocation(InvocationLogDto dto) {
+            invocations.add(dto);
+        }
+
+        @Override
+        public void logReturnValue(ReturnLogDto dto) {
+        }
+
+        @Override
+        public void logThrownException(ExceptionLogDto dto) {
+        }
+
+        @Override
+        public void logEntitySave(EntitySaveLogDto dto) {
+        }
+
+        @Override
+        public void logEntitySavingTime(EntitySaveTimeLogDto dto) {
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.codility.aop.log;
+
+public class EntitySaveLogDto {
+    public final String className;
+    public final Object entity;
+
+    public EntitySaveLogDto(String className, Object entity) {
+        this.className = className;
+        this.entity = entity;
+    }
+}
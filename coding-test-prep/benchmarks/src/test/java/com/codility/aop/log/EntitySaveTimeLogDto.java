@@ -0,0 +1,13 @@
+package com.codility.aop.log;
+
+public class EntitySaveTimeLogDto {
+    public final String className;
+    public final Object entity;
+    public final long executionTimeMillis;
+
+    public EntitySaveTimeLogDto(String className, Object entity, long executionTimeMillis) {
+        this.className = className;
+        this.entity = entity;
+        this.executionTimeMillis = executionTimeMillis;
+    }
+}
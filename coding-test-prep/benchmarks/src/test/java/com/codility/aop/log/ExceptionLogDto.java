@@ -0,0 +1,13 @@
+package com.codility.aop.log;
+
+public class ExceptionLogDto {
+    public final String className;
+    public final String methodName;
+    public final Exception exception;
+
+    public ExceptionLogDto(String className, String methodName, Exception exception) {
+        this.className = className;
+        this.methodName = methodName;
+        this.exception = exception;
+    }
+}
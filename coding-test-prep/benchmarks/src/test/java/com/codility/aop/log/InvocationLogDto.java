@@ -0,0 +1,15 @@
+package com.codility.aop.log;
+
+import java.util.List;
+
+public class InvocationLogDto {
+    public final String className;
+    public final String methodName;
+    public final List<Object> args;
+
+    public InvocationLogDto(String className, String methodName, List<Object> args) {
+        this.className = className;
+        this.methodName = methodName;
+        this.args = args;
+    }
+}
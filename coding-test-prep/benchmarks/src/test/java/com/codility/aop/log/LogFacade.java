@@ -0,0 +1,16 @@
+package com.codility.aop.log;
+
+/**
+ * Test stand-in for the logging API LoggingAspect is written against.
+ */
+public interface LogFacade {
+    void logInvocation(InvocationLogDto dto);
+
+    void logReturnValue(ReturnLogDto dto);
+
+    void logThrownException(ExceptionLogDto dto);
+
+    void logEntitySave(EntitySaveLogDto dto);
+
+    void logEntitySavingTime(EntitySaveTimeLogDto dto);
+}
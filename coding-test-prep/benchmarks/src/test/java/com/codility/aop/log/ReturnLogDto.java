@@ -0,0 +1,13 @@
+package com.codility.aop.log;
+
+public class ReturnLogDto {
+    public final String className;
+    public final String methodName;
+    public final Object returnValue;
+
+    public ReturnLogDto(String className, String methodName, Object returnValue) {
+        this.className = className;
+        this.methodName = methodName;
+        this.returnValue = returnValue;
+    }
+}
@@ -0,0 +1,292 @@
+package prep.naver250104.task2;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Checks Solution.optimizeStacked against an exhaustive bundle search on carts small enough
+ * to enumerate, and checks that the returned assignments add up to the quoted cost.
+ */
+class StackedQuoteTest {
+
+    private static final String[] SIZES = {"Small", "Medium", "Large"};
+    private static final int SMALL = 0;
+    private static final int LARGE = 2;
+    private static final int MAX_UNITS = 12;
+
+    @Test
+    void matchesBruteForceOnSmallCarts() {
+        SplittableRandom random = new SplittableRandom(16);
+        for (int trial = 0; trial < 2000; trial++) {
+            Solution.Pizza[] menu = randomMenu(random);
+            Solution.OrderItem[] order = randomOrder(random, menu.length);
+
+            Solution.StackedQuote quote = Solution.optimizeStacked(Solution.MenuSnapshot.compile(menu), order);
+            int expected = new BruteForce(menu, order).cost();
+
+            String cart = describe(menu, order);
+            assertTrue(quote.exact, cart);
+            assertEquals(expected, quote.cost, cart);
+            assertEquals(quote.cost, costOf(quote.assignments, menu, order), cart + quote.assignments);
+            assertTrue(quote.cost <= new Solution().solution(menu, order), cart);
+        }
+    }
+
+    @Test
+    void bulkQuantitiesStayConsistent() {
+        SplittableRandom random = new SplittableRandom(50);
+        for (int trial = 0; trial < 200; trial++) {
+            Solution.Pizza[] menu = randomMenu(random);
+            Solution.OrderItem[] order = new Solution.OrderItem[random.nextInt(1, 8)];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = new Solution.OrderItem("p" + random.nextInt(menu.length),
+                        SIZES[random.nextInt(3)], random.nextInt(1, 5000));
+            }
+
+            Solution.StackedQuote quote = Solution.optimizeStacked(Solution.MenuSnapshot.compile(menu), order);
+
+            String cart = describe(menu, order);
+            assertEquals(quote.cost, costOf(quote.assignments, menu, order), cart);
+            assertTrue(quote.cost <= new Solution().solution(menu, order), cart);
+        }
+    }
+
+    @Test
+    void exhaustedBudgetFallsBackToUpperBoundPlan() {
+        SplittableRandom random = new SplittableRandom(4096);
+        for (int trial = 0; trial < 500; trial++) {
+            Solution.Pizza[] menu = randomMenu(random);
+            Solution.OrderItem[] order = randomOrder(random, menu.length);
+            Solution.MenuSnapshot snapshot = Solution.MenuSnapshot.compile(menu);
+
+            Solution.StackedQuote fallback = Solution.optimizeStacked(snapshot, order, 0);
+            Solution.StackedQuote exact = Solution.optimizeStacked(snapshot, order);
+
+            String cart = describe(menu, order);
+            assertFalse(fallback.exact, cart);
+            assertEquals(fallback.cost, costOf(fallback.assignments, menu, order), cart + fallback.assignments);
+            assertTrue(fallback.cost >= exact.cost, cart);
+        }
+    }
+
+    private static Solution.Pizza[] randomMenu(SplittableRandom random) {
+        Solution.Pizza[] menu = new Solution.Pizza[random.nextInt(1, 5)];
+        boolean ordered = random.nextBoolean();
+        for (int i = 0; i < menu.length; i++) {
+            if (ordered) {
+                int small = random.nextInt(10, 20);
+                int medium = small + random.nextInt(1, 6);
+                menu[i] = new Solution.Pizza("p" + i, small, medium, medium + random.nextInt(1, 6));
+            } else {
+                menu[i] = new Solution.Pizza("p" + i, random.nextInt(1, 41), random.nextInt(1, 41), random.nextInt(1, 41));
+            }
+        }
+        return menu;
+    }
+
+    private static Solution.OrderItem[] randomOrder(SplittableRandom random, int types) {
+        List<Solution.OrderItem> items = new ArrayList<>();
+        int lines = random.nextInt(1, 7);
+        int units = 0;
+        for (int i = 0; i < lines && units < MAX_UNITS; i++) {
+            int quantity = random.nextInt(1, Math.min(5, MAX_UNITS - units) + 1);
+            units += quantity;
+            items.add(new Solution.OrderItem("p" + random.nextInt(types), SIZES[random.nextInt(3)], quantity));
+        }
+        return items.toArray(new Solution.OrderItem[0]);
+    }
+
+    private static int[][] unitsBySize(Solution.Pizza[] menu, Solution.OrderItem[] order) {
+        int[][] units = new int[menu.length][3];
+        for (Solution.OrderItem item : order) {
+            units[typeOf(item.name)][Solution.PizzaSize.of(item.size).ordinal()] += item.quantity;
+        }
+        return units;
+    }
+
+    private static int typeOf(String name) {
+        return Integer.parseInt(name.substring(1));
+    }
+
+    /**
+     * Re-prices the assignments deal by deal; fails if they do not cover the order exactly or
+     * leave a bundle incomplete.
+     */
+    private static int costOf(List<Solution.DealAssignment> assignments, Solution.Pizza[] menu,
+                              Solution.OrderItem[] order) {
+        int[][] covered = new int[menu.length][3];
+        int[] five = new int[menu.length];
+        int[][] largeFreeSmall = new int[menu.length][3];
+        int threeLarge = 0;
+        int cost = 0;
+        List<Integer> pool = new ArrayList<>();
+
+        for (Solution.DealAssignment assignment : assignments) {
+            int type = typeOf(assignment.name);
+            int size = assignment.size.ordinal();
+            int price = menu[type].getPrice(assignment.size);
+            covered[type][size] += assignment.units;
+
+            switch (assignment.deal) {
+                case NONE:
+                    cost += price * assignment.units;
+                    break;
+                case FIVE_FOR_100:
+                    five[type] += assignment.units;
+                    break;
+                case LARGE_FREE_SMALL:
+                    if (size != SMALL && size != LARGE) fail("LARGE_FREE_SMALL on " + assignment);
+                    largeFreeSmall[type][size] += assignment.units;
+                    if (size == LARGE) cost += price * assignment.units;
+                    break;
+                case THREE_LARGE_AS_MEDIUM:
+                    if (size != LARGE) fail("THREE_LARGE_AS_MEDIUM on " + assignment);
+                    threeLarge += assignment.units;
+                    cost += menu[type].priceM * assignment.units;
+                    break;
+                case THREE_FOR_TWO:
+                    for (int unit = 0; unit < assignment.units; unit++) pool.add(price);
+                    break;
+            }
+        }
+
+        assertEquals(0, threeLarge % 3, "THREE_LARGE_AS_MEDIUM units");
+        assertEquals(0, pool.size() % 3, "THREE_FOR_TWO units");
+        int[][] ordered = unitsBySize(menu, order);
+        for (int type = 0; type < menu.length; type++) {
+            assertEquals(0, five[type] % 5, "FIVE_FOR_100 units of p" + type);
+            assertEquals(largeFreeSmall[type][LARGE], largeFreeSmall[type][SMALL], "LARGE_FREE_SMALL pairs of p" + type);
+            assertTrue(Arrays.equals(ordered[type], covered[type]), "units of p" + type);
+            cost += five[type] / 5 * 100;
+        }
+
+        // Triples take the dearest units first, so the free third is always the cheapest of its triple
+        pool.sort(Collections.reverseOrder());
+        for (int i = 0; i < pool.size(); i++) {
+            if (i % 3 != 2) cost += pool.get(i);
+        }
+        return cost;
+    }
+
+    private static String describe(Solution.Pizza[] menu, Solution.OrderItem[] order) {
+        StringBuilder sb = new StringBuilder("menu:");
+        for (Solution.Pizza pizza : menu) {
+            sb.append(' ').append(pizza.name).append('=').append(pizza.priceS).append('/')
+                    .append(pizza.priceM).append('/').append(pizza.priceL);
+        }
+        sb.append(" order:");
+        for (Solution.OrderItem item : order) {
+            sb.append(' ').append(item.quantity).append(' ').append(item.name).append(' ').append(item.size);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Memoized search over the remaining units per (pizza, size): the first remaining unit either
+     * pays full price or joins every bundle it can be part of.
+     */
+    private static final class BruteForce {
+        private final int[] type;
+        private final int[] size;
+        private final int[] price;
+        private final int[] mediumPrice;
+        private final int[] remaining;
+        private final Map<String, Integer> memo = new HashMap<>();
+
+        BruteForce(Solution.Pizza[] menu, Solution.OrderItem[] order) {
+            int[][] units = unitsBySize(menu, order);
+            List<int[]> classes = new ArrayList<>();
+            for (int t = 0; t < menu.length; t++) {
+                for (int s = 0; s < 3; s++) {
+                    if (units[t][s] > 0) classes.add(new int[]{t, s, units[t][s]});
+                }
+            }
+
+            int n = classes.size();
+            type = new int[n];
+            size = new int[n];
+            price = new int[n];
+            mediumPrice = new int[n];
+            remaining = new int[n];
+            for (int i = 0; i < n; i++) {
+                int[] c = classes.get(i);
+                type[i] = c[0];
+                size[i] = c[1];
+                price[i] = menu[c[0]].getPrice(Solution.PizzaSize.values()[c[1]]);
+                mediumPrice[i] = menu[c[0]].priceM;
+                remaining[i] = c[2];
+            }
+        }
+
+        int cost() {
+            int first = 0;
+            while (first < remaining.length && remaining[first] == 0) first++;
+            if (first == remaining.length) return 0;
+
+            String key = Arrays.toString(remaining);
+            Integer known = memo.get(key);
+            if (known != null) return known;
+
+            remaining[first]--;
+            int best = price[first] + cost();
+            int n = remaining.length;
+
+            for (int j = first; j < n; j++) {
+                if (remaining[j] == 0) continue;
+                remaining[j]--;
+                for (int k = j; k < n; k++) {
+                    if (remaining[k] == 0) continue;
+                    remaining[k]--;
+                    int rest = cost();
+                    int cheapest = Math.min(price[first], Math.min(price[j], price[k]));
+                    best = Math.min(best, price[first] + price[j] + price[k] - cheapest + rest);
+                    if (size[first] == LARGE && size[j] == LARGE && size[k] == LARGE) {
+                        best = Math.min(best, mediumPrice[first] + mediumPrice[j] + mediumPrice[k] + rest);
+                    }
+                    remaining[k]++;
+                }
+                remaining[j]++;
+            }
+
+            for (int j = first; j < n; j++) {
+                if (remaining[j] == 0 || type[j] != type[first]) continue;
+                if (size[first] + size[j] == SMALL + LARGE && size[first] != size[j]) {
+                    remaining[j]--;
+                    best = Math.min(best, (size[first] == LARGE ? price[first] : price[j]) + cost());
+                    remaining[j]++;
+                }
+            }
+
+            best = Math.min(best, five(type[first], 4, first));
+
+            remaining[first]++;
+            memo.put(key, best);
+            return best;
+        }
+
+        // Picks the other four units of a FIVE_FOR_100 bundle in non-decreasing class order
+        private int five(int pizza, int left, int from) {
+            if (left == 0) return 100 + cost();
+            int best = Integer.MAX_VALUE / 2;
+            for (int j = from; j < remaining.length; j++) {
+                if (remaining[j] == 0 || type[j] != pizza) continue;
+                remaining[j]--;
+                best = Math.min(best, five(pizza, left - 1, j));
+                remaining[j]++;
+            }
+            return best;
+        }
+    }
+}
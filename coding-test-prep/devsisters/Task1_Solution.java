@@ -1,3 +1,5 @@
+import java.util.stream.IntStream;
+
 /**
  * Task 1: Stamina and Potion Usage Simulation
  * Calculates the minimum number of potions needed to complete all scheduled plays.
@@ -45,4 +47,289 @@ class Solution {
 
         return potionsUsed;
     }
+
+    public long[] solutionBatch(int[] maxStamina, int[] initialStamina, int[] recovery, int[] potionAmount,
+                                int[] playOffsets, int[] playTime, int[] staminaNeeded) {
+        return solutionBatch(maxStamina, initialStamina, recovery, potionAmount,
+                             playOffsets, playTime, staminaNeeded, false);
+    }
+
+    /**
+     * Batch variant for replaying many players at once, in struct-of-arrays layout.
+     * Player p owns plays playOffsets[p] .. playOffsets[p + 1] - 1 of playTime / staminaNeeded,
+     * so playOffsets has one more entry than there are players.
+     *
+     * @param parallel Split the player range across the common fork-join pool
+     * @return Potions used per player (long, since a full day of telemetry can exceed int)
+     */
+    public long[] solutionBatch(int[] maxStamina, int[] initialStamina, int[] recovery, int[] potionAmount,
+                                int[] playOffsets, int[] playTime, int[] staminaNeeded, boolean parallel) {
+        int players = playOffsets.length - 1;
+        if (players < 0 || maxStamina.length < players || initialStamina.length < players
+                || recovery.length < players || potionAmount.length < players) {
+            throw new IllegalArgumentException("Per-player arrays must cover playOffsets.length - 1 players");
+        }
+        if (playTime.length != staminaNeeded.length || playOffsets[players] > playTime.length) {
+            throw new IllegalArgumentException("Play arrays must have the same length and cover every offset");
+        }
+
+        long[] potions = new long[players];
+        IntStream range = IntStream.range(0, players);
+        if (parallel) {
+            range = range.parallel();
+        }
+        range.forEach(p -> potions[p] = simulate(maxStamina[p], initialStamina[p], recovery[p], potionAmount[p],
+                                                 playTime, staminaNeeded, playOffsets[p], playOffsets[p + 1]));
+        return potions;
+    }
+
+    /**
+     * Same loop as solution(), over plays [from, to) of the flat arrays.
+     */
+    private long simulate(int maxStamina, int initialStamina, int recovery, int potionAmount,
+                          int[] playTime, int[] staminaNeeded, int from, int to) {
+        long currentStamina = initialStamina;
+        int lastTime = 0;
+        long potionsUsed = 0;
+
+        for (int i = from; i < to; i++) {
+            int elapsed = playTime[i] - lastTime;
+            if (elapsed > 0) {
+                currentStamina = Math.min(maxStamina, currentStamina + elapsed / recovery);
+            }
+
+            int needed = staminaNeeded[i];
+            if (currentStamina < needed) {
+                long neededPotions = (needed - currentStamina + potionAmount - 1) / potionAmount;
+
+                potionsUsed += neededPotions;
+                currentStamina = Math.min(maxStamina, currentStamina + neededPotions * potionAmount);
+            }
+
+            currentStamina -= needed;
+            lastTime = playTime[i];
+        }
+
+        return potionsUsed;
+    }
+
+    /**
+     * What-if index over one player's schedule.
+     *
+     * Each play is a function of the entry stamina: recover (capped at maxStamina), top up with
+     * potions if short, consume. Stamina before any play stays within [0, max(maxStamina, initialStamina)],
+     * so a function is stored as a table over that domain: stamina after the segment and potions used.
+     * Plays are grouped into leaf blocks that form a segment tree, and a parent is the composition of
+     * its children, so the root looked up at initialStamina is the answer.
+     *
+     * Tables are S entries wide for S stamina states, so the domain is capped at MAX_INDEXED_STAMINA.
+     * A leaf holds the domain rounded up to a power of two (at least MIN_BLOCK_SIZE) plays, which keeps
+     * the tables at about 24 bytes per play whatever S is.
+     * A point edit rebuilds one leaf and its ancestors: O(S^2 + S log P) instead of the O(P) full replay.
+     * A what-if query writes nothing: it walks the root-to-leaf path, replays the edited block and
+     * applies the right siblings on the way back up, in O(S + log P). Queries may run concurrently;
+     * edits need exclusive access.
+     */
+    static class StaminaScheduleIndex {
+        private static final int MIN_BLOCK_SIZE = 32;
+        // Edits cost O(S^2) and the index ~24 bytes per play; beyond this a plain replay is cheaper
+        private static final int MAX_INDEXED_STAMINA = 255;
+
+        private final int maxStamina;
+        private final int initialStamina;
+        private final int recovery;
+        private final int potionAmount;
+        private final int[] playTime;
+        private final int[] staminaNeeded;
+        private final int states;
+        private final int blockSize;
+        private final int leafBase;
+        private final int[][] nextStamina;
+        private final long[][] potions;
+
+        StaminaScheduleIndex(int maxStamina, int initialStamina, int recovery, int potionAmount, int[][] plays) {
+            if (recovery <= 0 || potionAmount <= 0) {
+                throw new IllegalArgumentException("recovery and potionAmount must be positive");
+            }
+            if (maxStamina < 0 || initialStamina < 0) {
+                throw new IllegalArgumentException("Stamina values cannot be negative");
+            }
+            int domain = Math.max(maxStamina, initialStamina);
+            if (domain > MAX_INDEXED_STAMINA) {
+                throw new IllegalArgumentException("Stamina domain too large to index: " + domain);
+            }
+
+            this.maxStamina = maxStamina;
+            this.initialStamina = initialStamina;
+            this.recovery = recovery;
+            this.potionAmount = potionAmount;
+            this.states = domain + 1;
+            this.blockSize = Math.max(MIN_BLOCK_SIZE, ceilPowerOfTwo(states));
+
+            this.playTime = new int[plays.length];
+            this.staminaNeeded = new int[plays.length];
+            for (int i = 0; i < plays.length; i++) {
+                playTime[i] = plays[i][0];
+                staminaNeeded[i] = checkNeeded(plays[i][1]);
+            }
+
+            int blocks = Math.max(1, (plays.length + blockSize - 1) / blockSize);
+            this.leafBase = ceilPowerOfTwo(blocks);
+            this.nextStamina = new int[2 * leafBase][states];
+            this.potions = new long[2 * leafBase][states];
+
+            for (int block = 0; block < leafBase; block++) {
+                buildLeaf(block);
+            }
+            for (int node = leafBase - 1; node >= 1; node--) {
+                compose(node);
+            }
+        }
+
+        public long totalPotions() {
+            return potions[1][initialStamina];
+        }
+
+        public int size() {
+            return playTime.length;
+        }
+
+        public void setStaminaNeeded(int play, int needed) {
+            checkPlay(play);
+            staminaNeeded[play] = checkNeeded(needed);
+            refresh(play / blockSize);
+        }
+
+        /**
+         * Moves a play in time. Also affects the recovery before the following play.
+         */
+        public void setPlayTime(int play, int time) {
+            checkPlay(play);
+            playTime[play] = time;
+            refresh(play / blockSize);
+            if (play + 1 < playTime.length && (play + 1) / blockSize != play / blockSize) {
+                refresh((play + 1) / blockSize);
+            }
+        }
+
+        /**
+         * Potions for the whole schedule if play #play cost needed instead. Read-only.
+         */
+        public long potionsIfStaminaNeeded(int play, int needed) {
+            checkPlay(play);
+            checkNeeded(needed);
+            int block = play / blockSize;
+            int stamina = initialStamina;
+            long total = 0;
+
+            // Down to the leaf: every left sibling runs before the block
+            int node = 1;
+            for (int bit = Integer.numberOfTrailingZeros(leafBase) - 1; bit >= 0; bit--) {
+                node <<= 1;
+                if ((block >> bit & 1) != 0) {
+                    total += potions[node][stamina];
+                    stamina = nextStamina[node][stamina];
+                    node++;
+                }
+            }
+
+            long exit = replayBlock(block, stamina, play, needed);
+            total += exit >>> 32;
+            stamina = (int) exit;
+
+            // Back up: every right sibling runs after it
+            for (; node > 1; node >>= 1) {
+                if ((node & 1) == 0) {
+                    total += potions[node + 1][stamina];
+                    stamina = nextStamina[node + 1][stamina];
+                }
+            }
+            return total;
+        }
+
+        private void checkPlay(int play) {
+            // Plays past size() fall into padding leaves, and negative ones into unrelated nodes
+            if (play < 0 || play >= playTime.length) {
+                throw new IndexOutOfBoundsException("play must be within [0, " + playTime.length + "): " + play);
+            }
+        }
+
+        private int checkNeeded(int needed) {
+            // A play costing more than maxStamina would drive stamina negative, outside the tables
+            if (needed < 0 || needed > maxStamina) {
+                throw new IllegalArgumentException("staminaNeeded must be within [0, maxStamina]: " + needed);
+            }
+            return needed;
+        }
+
+        private void refresh(int block) {
+            buildLeaf(block);
+            for (int node = (leafBase + block) >> 1; node >= 1; node >>= 1) {
+                compose(node);
+            }
+        }
+
+        /**
+         * Simulates every entry stamina through the block's plays. Padding blocks become the identity.
+         */
+        private void buildLeaf(int block) {
+            int node = leafBase + block;
+            for (int entry = 0; entry < states; entry++) {
+                long exit = replayBlock(block, entry, -1, 0);
+                nextStamina[node][entry] = (int) exit;
+                potions[node][entry] = exit >>> 32;
+            }
+        }
+
+        /**
+         * Runs the block's plays from entry stamina, with play overridePlay costing overrideNeeded.
+         * Returns potions used in the high 32 bits and the exit stamina in the low 32; both fit,
+         * since a block has at most blockSize plays of at most maxStamina potions each.
+         */
+        private long replayBlock(int block, int entry, int overridePlay, int overrideNeeded) {
+            int from = Math.min(playTime.length, block * blockSize);
+            int to = Math.min(playTime.length, from + blockSize);
+            int currentStamina = entry;
+            int lastTime = from == 0 ? 0 : playTime[from - 1];
+            long potionsUsed = 0;
+
+            for (int i = from; i < to; i++) {
+                int needed = i == overridePlay ? overrideNeeded : staminaNeeded[i];
+                int elapsed = playTime[i] - lastTime;
+                if (elapsed > 0) {
+                    currentStamina = (int) Math.min(maxStamina, (long) currentStamina + elapsed / recovery);
+                }
+
+                if (currentStamina < needed) {
+                    int neededPotions = (needed - currentStamina + potionAmount - 1) / potionAmount;
+
+                    potionsUsed += neededPotions;
+                    currentStamina = (int) Math.min(maxStamina, currentStamina + (long) neededPotions * potionAmount);
+                }
+
+                currentStamina -= needed;
+                lastTime = playTime[i];
+            }
+
+            return potionsUsed << 32 | currentStamina;
+        }
+
+        private static int ceilPowerOfTwo(int n) {
+            int high = Integer.highestOneBit(n);
+            return high == n ? n : high << 1;
+        }
+
+        private void compose(int node) {
+            int[] leftNext = nextStamina[2 * node];
+            long[] leftPotions = potions[2 * node];
+            int[] rightNext = nextStamina[2 * node + 1];
+            long[] rightPotions = potions[2 * node + 1];
+
+            for (int entry = 0; entry < states; entry++) {
+                int mid = leftNext[entry];
+                nextStamina[node][entry] = rightNext[mid];
+                potions[node][entry] = leftPotions[entry] + rightPotions[mid];
+            }
+        }
+    }
 }
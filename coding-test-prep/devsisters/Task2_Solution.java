@@ -1,4 +1,6 @@
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Task 2: Minimize Guild Score Difference
@@ -6,7 +8,43 @@ import java.util.*;
  * such that the absolute difference of their sum is minimized.
  */
 class Solution {
+    // Largest int[] most JVMs will allocate
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+    // Bitset engine memory cap across both guilds (2^27 words = 1 GiB)
+    private static final long MAX_BITSET_WORDS = 1L << 27;
+    // Combinations of A a fork-join task enumerates itself instead of splitting further
+    private static final int PARALLEL_LEAF_SIZE = 1 << 14;
+
+    /**
+     * Picks the cheaper engine for the given sizes:
+     * - enumeration (solutionWithPrimitiveSums) costs ~C(n, k) log C(n, k)
+     * - the sum bitset DP (solutionWithSumBitsets) costs ~n * k * (k * scoreRange / 64) word ops
+     * so small k favours enumeration and small score ranges favour the bitset.
+     */
     public int solution(int[] guildA, int[] guildB, int selectA, int selectB) {
+        if (guildA.length < selectA || guildB.length < selectB) {
+            return -1;
+        }
+
+        double enumerationCost = enumerationCost(guildA.length, selectA) + enumerationCost(guildB.length, selectB);
+        // Long.MAX_VALUE when a side cannot use the bitset (k < 0 or too many words), so each side is
+        // checked on its own before the sum, which could otherwise wrap negative
+        long wordsA = bitsetWords(guildA, selectA);
+        long wordsB = bitsetWords(guildB, selectB);
+        boolean bitsetFits = wordsA <= MAX_BITSET_WORDS && wordsB <= MAX_BITSET_WORDS
+                && wordsA + wordsB <= MAX_BITSET_WORDS;
+        double bitsetCost = (double) guildA.length * wordsA + (double) guildB.length * wordsB;
+
+        if (bitsetFits && bitsetCost < enumerationCost) {
+            return solutionWithSumBitsets(guildA, guildB, selectA, selectB);
+        }
+        return solutionWithPrimitiveSums(guildA, guildB, selectA, selectB);
+    }
+
+    /**
+     * Reference implementation: boxed List<Integer> sums, binary search per sum of A.
+     */
+    public int solutionWithBoxedSums(int[] guildA, int[] guildB, int selectA, int selectB) {
         // Validation: Ensure enough members are available
         if (guildA.length < selectA || guildB.length < selectB) {
             return -1;
@@ -42,6 +80,207 @@ class Solution {
         return minDifference;
     }
 
+    /**
+     * Same answer as solutionWithBoxedSums(), but the combination sums live in exactly sized int[] buffers
+     * (C(n, k) entries, ~4 bytes per sum), both sides are sorted with a primitive sort and
+     * the closest pair is found with a single two-pointer merge instead of a binary search per sum.
+     */
+    public int solutionWithPrimitiveSums(int[] guildA, int[] guildB, int selectA, int selectB) {
+        if (guildA.length < selectA || guildB.length < selectB) {
+            return -1;
+        }
+
+        int[] sumsA = getCombinationSumArray(guildA, selectA);
+        int[] sumsB = getCombinationSumArray(guildB, selectB);
+
+        if (sumsA.length == 0 || sumsB.length == 0) return -1;
+
+        Arrays.sort(sumsA);
+        Arrays.sort(sumsB);
+
+        return minDifferenceOfSorted(sumsA, sumsB);
+    }
+
+    /**
+     * Polynomial engine for bounded scores.
+     * reach[c] is a bitset of the sums reachable with exactly c picks (scores shifted by the guild
+     * minimum so bit indices are non-negative). Each member does reach[c] |= reach[c - 1] << score
+     * for c from high to low, like a 0/1 knapsack. Both final bitsets are already "sorted",
+     * so the closest pair is a merge over their set bits.
+     */
+    public int solutionWithSumBitsets(int[] guildA, int[] guildB, int selectA, int selectB) {
+        if (guildA.length < selectA || guildB.length < selectB) {
+            return -1;
+        }
+        if (selectA < 0 || selectB < 0) return -1;
+
+        int minA = min(guildA);
+        int minB = min(guildB);
+        long[] sumsA = getSumBitset(guildA, selectA, minA);
+        long[] sumsB = getSumBitset(guildB, selectB, minB);
+
+        // Real sum = bit index + k * min
+        long offsetA = (long) selectA * minA;
+        long offsetB = (long) selectB * minB;
+
+        // Bit indices are long: under MAX_BITSET_WORDS one bitset can hold up to 2^33 bits
+        long minDifference = Long.MAX_VALUE;
+        long i = nextSetBit(sumsA, 0);
+        long j = nextSetBit(sumsB, 0);
+
+        while (i >= 0 && j >= 0) {
+            long diff = (i + offsetA) - (j + offsetB);
+            if (diff == 0) return 0;
+
+            minDifference = Math.min(minDifference, Math.abs(diff));
+
+            if (diff < 0) {
+                i = nextSetBit(sumsA, i + 1);
+            } else {
+                j = nextSetBit(sumsB, j + 1);
+            }
+        }
+
+        if (minDifference == Long.MAX_VALUE) return -1;
+        return (int) Math.min(minDifference, Integer.MAX_VALUE);
+    }
+
+    public int solutionParallel(int[] guildA, int[] guildB, int selectA, int selectB) {
+        return solutionParallel(guildA, guildB, selectA, selectB, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parallel enumeration for many-core hosts.
+     * B sums are enumerated once into an int[] and sorted with Arrays.parallelSort. The combination
+     * tree of A is split by prefix choice into CombinationSearchTasks; each leaf writes its sums into
+     * its own int[] buffer and searches the sorted B sums locally, and results combine with min.
+     * A zero difference found by any task stops the others.
+     */
+    public int solutionParallel(int[] guildA, int[] guildB, int selectA, int selectB, ForkJoinPool pool) {
+        if (guildA.length < selectA || guildB.length < selectB) {
+            return -1;
+        }
+        if (countCombinations(guildA.length, selectA) == 0) return -1;
+
+        int[] sumsB = getCombinationSumArray(guildB, selectB);
+        if (sumsB.length == 0) return -1;
+        Arrays.parallelSort(sumsB);
+
+        SearchContext context = new SearchContext(guildA, sumsB);
+        long minDifference = pool.invoke(new CombinationSearchTask(context, selectA, 0, 0));
+
+        return (int) Math.min(minDifference, Integer.MAX_VALUE);
+    }
+
+    private long[] getSumBitset(int[] arr, int k, int minScore) {
+        long range = scoreRange(arr);
+        if (bitsetWords(arr, k) > MAX_BITSET_WORDS) {
+            throw new IllegalArgumentException(
+                "Score range too wide for the bitset engine: k=" + k + ", range=" + range);
+        }
+
+        long[][] reach = new long[k + 1][];
+        for (int c = 0; c <= k; c++) {
+            reach[c] = new long[wordsFor(c * range + 1)];
+        }
+        reach[0][0] = 1L;
+
+        int n = arr.length;
+        for (int i = 0; i < n; i++) {
+            int shift = arr[i] - minScore;
+            // Counts below lo can no longer reach k with the members left after i
+            int hi = Math.min(k, i + 1);
+            int lo = Math.max(1, k - (n - 1 - i));
+            for (int c = hi; c >= lo; c--) {
+                shiftOr(reach[c - 1], shift, reach[c]);
+            }
+        }
+
+        return reach[k];
+    }
+
+    /**
+     * dst |= src << shift, where src and dst are little-endian bitsets.
+     */
+    private void shiftOr(long[] src, int shift, long[] dst) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+
+        for (int w = 0; w < src.length; w++) {
+            long word = src[w];
+            if (word == 0) continue;
+
+            int target = w + wordShift;
+            if (target < dst.length) {
+                dst[target] |= word << bitShift;
+            }
+            if (bitShift != 0 && target + 1 < dst.length) {
+                dst[target + 1] |= word >>> (64 - bitShift);
+            }
+        }
+    }
+
+    private long nextSetBit(long[] words, long from) {
+        long wordIndex = from >>> 6;
+        if (wordIndex >= words.length) return -1;
+
+        int w = (int) wordIndex;
+        long word = words[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return ((long) w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == words.length) return -1;
+            word = words[w];
+        }
+    }
+
+    private double enumerationCost(int n, int k) {
+        long count = countCombinations(n, k);
+        if (count == Long.MAX_VALUE) return Double.POSITIVE_INFINITY;
+        return (double) count * (64 - Long.numberOfLeadingZeros(count));
+    }
+
+    /**
+     * Total words of reach[0..k] for this guild, saturated to Long.MAX_VALUE.
+     */
+    private long bitsetWords(int[] arr, int k) {
+        if (k < 0) return Long.MAX_VALUE;
+
+        long range = scoreRange(arr);
+        if (range > 0 && k > (Long.MAX_VALUE >>> 8) / range) return Long.MAX_VALUE;
+
+        long words = 0;
+        for (int c = 0; c <= k; c++) {
+            words += wordsFor(c * range + 1);
+            if (words > MAX_BITSET_WORDS) return Long.MAX_VALUE;
+        }
+        return words;
+    }
+
+    private int wordsFor(long bits) {
+        return (int) ((bits + 63) >>> 6);
+    }
+
+    private long scoreRange(int[] arr) {
+        if (arr.length == 0) return 0;
+        int min = arr[0];
+        int max = arr[0];
+        for (int v : arr) {
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        return (long) max - min;
+    }
+
+    private int min(int[] arr) {
+        int min = arr.length == 0 ? 0 : arr[0];
+        for (int v : arr) {
+            min = Math.min(min, v);
+        }
+        return min;
+    }
+
     private List<Integer> getCombinationSums(int[] arr, int k) {
         List<Integer> result = new ArrayList<>();
         backtrack(arr, k, 0, 0, result);
@@ -59,6 +298,111 @@ class Solution {
         }
     }
 
+    private int[] getCombinationSumArray(int[] arr, int k) {
+        long count = countCombinations(arr.length, k);
+        if (count > MAX_BUFFER_SIZE) {
+            throw new IllegalArgumentException(
+                "Too many combinations to enumerate: C(" + arr.length + ", " + k + ") = " + count);
+        }
+
+        int[] result = new int[(int) count];
+        fill(arr, k, 0, 0, result, 0);
+        return result;
+    }
+
+    /**
+     * Writes the sums of all k-combinations of arr[start..] into out starting at pos.
+     * Returns the next free position.
+     */
+    private static int fill(int[] arr, int k, int start, int currentSum, int[] out, int pos) {
+        if (k == 0) {
+            out[pos] = currentSum;
+            return pos + 1;
+        }
+
+        for (int i = start; i <= arr.length - k; i++) {
+            pos = fill(arr, k - 1, i + 1, currentSum + arr[i], out, pos);
+        }
+        return pos;
+    }
+
+    /**
+     * Minimum |a - b| over two ascending arrays, in one merge pass.
+     */
+    private int minDifferenceOfSorted(int[] a, int[] b) {
+        long minDifference = Long.MAX_VALUE;
+        int i = 0;
+        int j = 0;
+
+        while (i < a.length && j < b.length) {
+            long diff = (long) a[i] - b[j];
+            if (diff == 0) return 0;
+
+            minDifference = Math.min(minDifference, Math.abs(diff));
+
+            // Advance the smaller side: it cannot get closer to anything left on the other side
+            if (diff < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        return (int) Math.min(minDifference, Integer.MAX_VALUE);
+    }
+
+    /**
+     * C(n, k), saturated to Long.MAX_VALUE once it exceeds any buffer we could allocate.
+     */
+    static long countCombinations(int n, int k) {
+        if (k < 0 || k > n) return 0;
+        k = Math.min(k, n - k);
+
+        long count = 1;
+        for (int i = 1; i <= k; i++) {
+            count = count * (n - k + i) / i;
+            if (count > MAX_BUFFER_SIZE) return Long.MAX_VALUE;
+        }
+        return count;
+    }
+
+    /**
+     * Minimum |v - b| for any v in values[0..length) and b in the ascending array sorted.
+     */
+    private static long closestDifference(int[] values, int length, int[] sorted) {
+        long minDifference = Long.MAX_VALUE;
+
+        for (int i = 0; i < length; i++) {
+            int value = values[i];
+            int closestIdx = lowerBound(sorted, value);
+
+            if (closestIdx < sorted.length) {
+                minDifference = Math.min(minDifference, (long) sorted[closestIdx] - value);
+            }
+            if (closestIdx > 0) {
+                minDifference = Math.min(minDifference, (long) value - sorted[closestIdx - 1]);
+            }
+
+            if (minDifference == 0) return 0;
+        }
+
+        return minDifference;
+    }
+
+    private static int lowerBound(int[] sorted, int target) {
+        int left = 0;
+        int right = sorted.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (sorted[mid] < target) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
     private int binarySearch(List<Integer> list, int target) {
         int left = 0;
         int right = list.size();
@@ -72,4 +416,69 @@ class Solution {
         }
         return left;
     }
+
+    /**
+     * Shared, read-only state of one parallel search plus the zero-difference stop flag.
+     */
+    private static final class SearchContext {
+        final int[] guildA;
+        final int[] sortedSumsB;
+        volatile boolean exactMatchFound;
+
+        SearchContext(int[] guildA, int[] sortedSumsB) {
+            this.guildA = guildA;
+            this.sortedSumsB = sortedSumsB;
+        }
+    }
+
+    /**
+     * Closest difference over all combinations of A that pick k more members from
+     * guildA[start..] on top of a prefix whose sum is prefixSum.
+     */
+    private static final class CombinationSearchTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final SearchContext context;
+        private final int k;
+        private final int start;
+        private final int prefixSum;
+
+        CombinationSearchTask(SearchContext context, int k, int start, int prefixSum) {
+            this.context = context;
+            this.k = k;
+            this.start = start;
+            this.prefixSum = prefixSum;
+        }
+
+        @Override
+        protected Long compute() {
+            if (context.exactMatchFound) return Long.MAX_VALUE;
+
+            int[] arr = context.guildA;
+            long count = countCombinations(arr.length - start, k);
+
+            if (k == 0 || count <= PARALLEL_LEAF_SIZE) {
+                int[] buffer = new int[(int) count];
+                int length = fill(arr, k, start, prefixSum, buffer, 0);
+
+                long result = closestDifference(buffer, length, context.sortedSumsB);
+                if (result == 0) {
+                    context.exactMatchFound = true;
+                }
+                return result;
+            }
+
+            // Split by the next member chosen: arr[i] is the smallest index in the rest of the combination
+            List<CombinationSearchTask> subtasks = new ArrayList<>();
+            for (int i = start; i <= arr.length - k; i++) {
+                subtasks.add(new CombinationSearchTask(context, k - 1, i + 1, prefixSum + arr[i]));
+            }
+
+            long minDifference = Long.MAX_VALUE;
+            for (CombinationSearchTask subtask : invokeAll(subtasks)) {
+                minDifference = Math.min(minDifference, subtask.join());
+            }
+            return minDifference;
+        }
+    }
 }
@@ -1,4 +1,12 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * Task 1: Check Sequential Path
@@ -38,10 +46,189 @@ class Solution {
         return true;
     }
 
+    /**
+     * Same check as solution(), but only consecutive edges are kept, one bit each.
+     * Memory is O(N / 8) instead of a boxed Long per edge.
+     */
+    public boolean solutionWithBitset(int N, int[] A, int[] B) {
+        if (A.length < N - 1) {
+            return false;
+        }
+
+        ConsecutiveEdgeSet edges = new ConsecutiveEdgeSet(N);
+        edges.addAll(A, B);
+        return edges.isSequentialPath();
+    }
+
+    /**
+     * Path check straight from a binary edge file of (u, v) int32 pairs in the given byte order.
+     */
+    public boolean solutionFromFile(int N, Path edgeFile, ByteOrder order) throws IOException {
+        ConsecutiveEdgeSet edges = new ConsecutiveEdgeSet(N);
+        edges.addFromFile(edgeFile, order);
+        return edges.isSequentialPath();
+    }
+
     private long encodeEdge(int u, int v) {
         // Ensure smaller index is always first for undirected graph consistency
         int min = Math.min(u, v);
         int max = Math.max(u, v);
         return ((long) min << 32) | (max & 0xFFFFFFFFL);
     }
+
+    /**
+     * Streaming set of the edges (i, i + 1) for 1 <= i < N.
+     * Edge (i, i + 1) is bit i - 1, keyed by min(u, v); every other edge is dropped on ingestion.
+     */
+    static class ConsecutiveEdgeSet {
+        private static final int EDGE_BYTES = 2 * Integer.BYTES;
+        // Largest multiple of EDGE_BYTES a single mapping can cover
+        private static final long MAX_MAPPING = (Integer.MAX_VALUE / EDGE_BYTES) * (long) EDGE_BYTES;
+
+        private final int n;
+        private final long[] words;
+
+        ConsecutiveEdgeSet(int n) {
+            this.n = n;
+            int links = Math.max(0, n - 1);
+            this.words = new long[(links + 63) >>> 6];
+        }
+
+        public void add(int u, int v) {
+            int min = Math.min(u, v);
+            // |u - v| == 1, computed in long so extreme ids cannot overflow into a match
+            if ((long) Math.max(u, v) - min == 1 && min >= 1 && min < n) {
+                int bit = min - 1;
+                words[bit >>> 6] |= 1L << bit;
+            }
+        }
+
+        public void addAll(int[] A, int[] B) {
+            if (A.length != B.length) {
+                throw new IllegalArgumentException("Edge endpoint arrays must have the same length");
+            }
+            for (int i = 0; i < A.length; i++) {
+                add(A[i], B[i]);
+            }
+        }
+
+        /**
+         * Ingests a file of (u, v) int32 pairs through read-only memory mappings of up to 2 GiB each.
+         * A trailing partial record is ignored.
+         */
+        public void addFromFile(Path edgeFile, ByteOrder order) throws IOException {
+            try (FileChannel channel = FileChannel.open(edgeFile, StandardOpenOption.READ)) {
+                long size = channel.size() - channel.size() % EDGE_BYTES;
+
+                for (long position = 0; position < size; position += MAX_MAPPING) {
+                    long length = Math.min(MAX_MAPPING, size - position);
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    buffer.order(order);
+
+                    int limit = (int) length;
+                    for (int offset = 0; offset < limit; offset += EDGE_BYTES) {
+                        add(buffer.getInt(offset), buffer.getInt(offset + Integer.BYTES));
+                    }
+                }
+            }
+        }
+
+        /**
+         * True when every link (i, i + 1) was seen: a word-level scan for a zero bit.
+         */
+        public boolean isSequentialPath() {
+            int links = Math.max(0, n - 1);
+            int fullWords = links >>> 6;
+
+            for (int w = 0; w < fullWords; w++) {
+                if (words[w] != -1L) {
+                    return false;
+                }
+            }
+
+            int tailBits = links & 63;
+            if (tailBits != 0) {
+                long tailMask = (1L << tailBits) - 1;
+                return (words[fullWords] & tailMask) == tailMask;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Incremental path check under edge insertions and deletions.
+     * Keeps a multiplicity count per link (i, i + 1) and the number of links whose count is zero,
+     * so every update and query is O(1). Counts are per-link atomics and the missing counter only
+     * moves on 0 <-> 1 transitions, so ingest threads rarely contend; a query that races with updates
+     * on the same link may see either side of them, and is exact once those updates complete.
+     */
+    static class DynamicSequentialPath {
+        private final int n;
+        private final AtomicIntegerArray counts;
+        private final AtomicInteger missingLinks;
+
+        DynamicSequentialPath(int n) {
+            this.n = n;
+            int links = Math.max(0, n - 1);
+            this.counts = new AtomicIntegerArray(links);
+            this.missingLinks = new AtomicInteger(links);
+        }
+
+        public void addEdge(int u, int v) {
+            int link = linkIndex(u, v);
+            if (link < 0) return;
+
+            if (counts.getAndIncrement(link) == 0) {
+                missingLinks.decrementAndGet();
+            }
+        }
+
+        /**
+         * Removes one copy of the edge. Returns false if it was not present (or is not a link).
+         */
+        public boolean removeEdge(int u, int v) {
+            int link = linkIndex(u, v);
+            if (link < 0) return false;
+
+            while (true) {
+                int count = counts.get(link);
+                if (count == 0) return false;
+
+                if (counts.compareAndSet(link, count, count - 1)) {
+                    if (count == 1) {
+                        missingLinks.incrementAndGet();
+                    }
+                    return true;
+                }
+            }
+        }
+
+        public void addAll(int[] A, int[] B) {
+            if (A.length != B.length) {
+                throw new IllegalArgumentException("Edge endpoint arrays must have the same length");
+            }
+            for (int i = 0; i < A.length; i++) {
+                addEdge(A[i], B[i]);
+            }
+        }
+
+        public boolean isSequentialPath() {
+            return missingLinks.get() == 0;
+        }
+
+        public int missingLinks() {
+            return missingLinks.get();
+        }
+
+        /**
+         * Index of link (i, i + 1) as i - 1, or -1 for any edge that is not a link.
+         */
+        private int linkIndex(int u, int v) {
+            int min = Math.min(u, v);
+            if ((long) Math.max(u, v) - min == 1 && min >= 1 && min < n) {
+                return min - 1;
+            }
+            return -1;
+        }
+    }
 }
\ No newline at end of file
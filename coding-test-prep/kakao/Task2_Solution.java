@@ -1,3 +1,12 @@
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
 /**
  * Task 2: Reverse Number Printing
  * Prints the digits of N in reverse order, skipping leading zeros of the reversed result.
@@ -33,4 +42,189 @@ class Solution {
             System.out.print(sb.toString());
         }
     }
+
+    /**
+     * Bulk variant of solution(): reverses many numbers into one reusable byte[] and drains it to an
+     * OutputStream or WritableByteChannel in large blocks, instead of one synchronized System.out.print
+     * per number. Each number is followed by the given separator. Same rules as solution():
+     * 0 prints "0", negative values print nothing. Not thread-safe; call flush() when done.
+     */
+    static class ReversedDigitWriter implements Flushable {
+        private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+        // Digits of Long.MAX_VALUE plus a separator
+        private static final int MAX_RECORD_BYTES = 20;
+
+        private final OutputStream out;
+        private final WritableByteChannel channel;
+        private final byte[] buffer;
+        private final ByteBuffer bufferView;
+        private ByteBuffer readBuffer;
+        private int position;
+
+        ReversedDigitWriter(OutputStream out) {
+            this(out, null, DEFAULT_BUFFER_SIZE);
+        }
+
+        ReversedDigitWriter(WritableByteChannel channel) {
+            this(null, channel, DEFAULT_BUFFER_SIZE);
+        }
+
+        private ReversedDigitWriter(OutputStream out, WritableByteChannel channel, int bufferSize) {
+            this.out = out;
+            this.channel = channel;
+            this.buffer = new byte[Math.max(bufferSize, MAX_RECORD_BYTES)];
+            this.bufferView = ByteBuffer.wrap(buffer);
+        }
+
+        public void writeAll(int[] values, byte separator) throws IOException {
+            for (int value : values) {
+                write(value);
+                buffer[position++] = separator;
+            }
+        }
+
+        public void writeAll(long[] values, byte separator) throws IOException {
+            for (long value : values) {
+                write(value);
+                buffer[position++] = separator;
+            }
+        }
+
+        /**
+         * Appends the reversed digits of value, without a separator.
+         */
+        public void write(long value) throws IOException {
+            if (buffer.length - position < MAX_RECORD_BYTES) {
+                flush();
+            }
+
+            if (value == 0) {
+                buffer[position++] = '0';
+                return;
+            }
+
+            // Trailing zeros of the input would be leading zeros of the output
+            while (value > 0 && value % 10 == 0) {
+                value /= 10;
+            }
+            while (value > 0) {
+                buffer[position++] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+
+        /**
+         * Streaming mode for a number too long for any primitive: the file holds ASCII digits
+         * (surrounding whitespace allowed) and is read backwards block by block, so memory stays
+         * at one block whatever the length. Leading zeros of the number are ignored, as for an int.
+         */
+        public void writeReversed(Path digitFile) throws IOException {
+            if (readBuffer == null) {
+                readBuffer = ByteBuffer.allocateDirect(buffer.length);
+            }
+
+            try (FileChannel in = FileChannel.open(digitFile, StandardOpenOption.READ)) {
+                long first = firstNonZeroDigit(in);
+                long end = endOfDigits(in, first);
+                if (first < 0 || first >= end) {
+                    write(0);
+                    return;
+                }
+
+                boolean leadingZerosFinished = false;
+                long blockEnd = end;
+                while (blockEnd > first) {
+                    long blockStart = Math.max(first, blockEnd - readBuffer.capacity());
+                    readFully(in, blockStart, (int) (blockEnd - blockStart));
+
+                    for (int i = readBuffer.limit() - 1; i >= 0; i--) {
+                        byte digit = readBuffer.get(i);
+                        if (digit < '0' || digit > '9') {
+                            throw new IllegalArgumentException("Not a digit at offset " + (blockStart + i));
+                        }
+                        if (digit != '0') {
+                            leadingZerosFinished = true;
+                        }
+                        if (leadingZerosFinished) {
+                            if (position == buffer.length) {
+                                flush();
+                            }
+                            buffer[position++] = digit;
+                        }
+                    }
+                    blockEnd = blockStart;
+                }
+            }
+        }
+
+        public void writeSeparator(byte separator) throws IOException {
+            if (position == buffer.length) {
+                flush();
+            }
+            buffer[position++] = separator;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (position == 0) return;
+
+            if (channel != null) {
+                bufferView.clear().limit(position);
+                while (bufferView.hasRemaining()) {
+                    channel.write(bufferView);
+                }
+            } else {
+                out.write(buffer, 0, position);
+            }
+            position = 0;
+        }
+
+        /**
+         * Offset of the first non-zero digit, or -1 if the file has none.
+         */
+        private long firstNonZeroDigit(FileChannel in) throws IOException {
+            long size = in.size();
+            for (long offset = 0; offset < size; offset += readBuffer.limit()) {
+                readFully(in, offset, (int) Math.min(readBuffer.capacity(), size - offset));
+                for (int i = 0; i < readBuffer.limit(); i++) {
+                    byte b = readBuffer.get(i);
+                    if (b >= '1' && b <= '9') return offset + i;
+                    if (b != '0' && !isWhitespace(b)) {
+                        throw new IllegalArgumentException("Not a digit at offset " + (offset + i));
+                    }
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Offset just past the last digit, skipping trailing whitespace.
+         */
+        private long endOfDigits(FileChannel in, long first) throws IOException {
+            long end = in.size();
+            while (end > Math.max(first, 0)) {
+                long blockStart = Math.max(Math.max(first, 0), end - readBuffer.capacity());
+                readFully(in, blockStart, (int) (end - blockStart));
+                for (int i = readBuffer.limit() - 1; i >= 0; i--) {
+                    if (!isWhitespace(readBuffer.get(i))) return blockStart + i + 1;
+                }
+                end = blockStart;
+            }
+            return end;
+        }
+
+        private void readFully(FileChannel in, long offset, int length) throws IOException {
+            readBuffer.clear().limit(length);
+            while (readBuffer.hasRemaining()) {
+                if (in.read(readBuffer, offset + readBuffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file at offset " + (offset + readBuffer.position()));
+                }
+            }
+            readBuffer.flip();
+        }
+
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+        }
+    }
 }
\ No newline at end of file
@@ -1,4 +1,6 @@
 import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Task 3: Airplane Seat Allocation
@@ -15,6 +17,23 @@ import java.util.*;
  *   3. D,E,F,G (Cols 3,4,5,6) - Only if 1 and 2 are not fully taken.
  */
 class Solution {
+    // Masks for family groups
+    // BCDE: 1,2,3,4
+    private static final int MASK_BCDE = (1 << 1) | (1 << 2) | (1 << 3) | (1 << 4);
+    // FGHJ: 5,6,7,8
+    private static final int MASK_FGHJ = (1 << 5) | (1 << 6) | (1 << 7) | (1 << 8);
+    // DEFG: 3,4,5,6
+    private static final int MASK_DEFG = (1 << 3) | (1 << 4) | (1 << 5) | (1 << 6);
+
+    // Families that fit in a row, indexed by its 9-bit reserved mask (bits 0..8)
+    private static final byte[] FAMILIES_BY_MASK = new byte[1 << 9];
+
+    static {
+        for (int mask = 0; mask < FAMILIES_BY_MASK.length; mask++) {
+            FAMILIES_BY_MASK[mask] = (byte) familiesInRow(mask);
+        }
+    }
+
     public int solution(int N, String S) {
         // If no reservations, each row can fit 2 families (BCDE and FGHJ)
         if (S == null || S.isEmpty()) {
@@ -40,38 +59,89 @@ class Solution {
         }
 
         int totalFamilies = 0;
-        
-        // Masks for family groups
-        // BCDE: 1,2,3,4
-        final int MASK_BCDE = (1 << 1) | (1 << 2) | (1 << 3) | (1 << 4);
-        // FGHJ: 5,6,7,8
-        final int MASK_FGHJ = (1 << 5) | (1 << 6) | (1 << 7) | (1 << 8);
-        // DEFG: 3,4,5,6
-        final int MASK_DEFG = (1 << 3) | (1 << 4) | (1 << 5) | (1 << 6);
 
         for (int i = 1; i <= N; i++) {
             int reservedMask = reservedRows.getOrDefault(i, 0);
-            
-            boolean canBCDE = (reservedMask & MASK_BCDE) == 0;
-            boolean canFGHJ = (reservedMask & MASK_FGHJ) == 0;
-            boolean canDEFG = (reservedMask & MASK_DEFG) == 0;
-
-            if (canBCDE && canFGHJ) {
-                // Best case: 2 families in this row
-                totalFamilies += 2;
-            } else if (canBCDE || canFGHJ) {
-                // One side is free
-                totalFamilies += 1;
-            } else if (canDEFG) {
-                // Middle is free (and sides were blocked)
-                totalFamilies += 1;
+            totalFamilies += familiesInRow(reservedMask);
+        }
+
+        return totalFamilies;
+    }
+
+    /**
+     * Same answer as solution(), with cost proportional to the number of reservations instead of N.
+     * S is scanned once without substrings or parseInt, masks go to a primitive open-addressing map,
+     * and the result is 2 * (N - reservedRowCount) plus a table lookup per reserved row.
+     * Returns long because 2 * N overflows int for N above ~1.07 billion.
+     * A row number above N is rejected as soon as its digits pass N.
+     */
+    public long solutionSparse(int N, String S) {
+        if (S == null || S.isEmpty()) {
+            return 2L * N;
+        }
+
+        RowMaskMap reservedRows = new RowMaskMap();
+        int length = S.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = S.charAt(i);
+            if (c == ' ') {
+                i++;
+                continue;
+            }
+
+            // Row digits followed by exactly one column letter, e.g. "10B"
+            long rowNum = 0;
+            int digitsStart = i;
+            while (i < length && (c = S.charAt(i)) >= '0' && c <= '9') {
+                rowNum = rowNum * 10 + (c - '0');
+                // Checked per digit, so a long digit run cannot wrap around into 1..N
+                if (rowNum > N) {
+                    throw new IllegalArgumentException("Row out of range 1.." + N + " near index " + digitsStart);
+                }
+                i++;
+            }
+            if (i == digitsStart || i == length || (i + 1 < length && S.charAt(i + 1) != ' ')) {
+                throw new IllegalArgumentException("Malformed seat near index " + digitsStart);
+            }
+
+            int colBit = getColumnBit(S.charAt(i++));
+            // Row 0 never reaches the per-row loop of solution()
+            if (colBit != -1 && rowNum >= 1) {
+                reservedRows.or((int) rowNum, 1 << colBit);
+            }
+        }
+
+        long totalFamilies = 2L * (N - reservedRows.size());
+        for (int slot = 0; slot < reservedRows.capacity(); slot++) {
+            if (reservedRows.keyAt(slot) != RowMaskMap.EMPTY) {
+                totalFamilies += FAMILIES_BY_MASK[reservedRows.valueAt(slot)];
             }
         }
 
         return totalFamilies;
     }
 
-    private int getColumnBit(char c) {
+    private static int familiesInRow(int reservedMask) {
+        boolean canBCDE = (reservedMask & MASK_BCDE) == 0;
+        boolean canFGHJ = (reservedMask & MASK_FGHJ) == 0;
+        boolean canDEFG = (reservedMask & MASK_DEFG) == 0;
+
+        if (canBCDE && canFGHJ) {
+            // Best case: 2 families in this row
+            return 2;
+        } else if (canBCDE || canFGHJ) {
+            // One side is free
+            return 1;
+        } else if (canDEFG) {
+            // Middle is free (and sides were blocked)
+            return 1;
+        }
+        return 0;
+    }
+
+    private static int getColumnBit(char c) {
         switch (c) {
             case 'B': return 1;
             case 'C': return 2;
@@ -84,4 +154,168 @@ class Solution {
             default: return -1; // A and K or others are not part of family seating logic
         }
     }
+
+    /**
+     * Long-lived seat map for a booking service, so capacity is not recomputed from S after every change.
+     * Each row is one int word of reserved-seat bits (A = 0, B..J = 1..8 as in getColumnBit, K = 9).
+     * reserve/cancel flip a bit with a CAS on the row word, then add the row's family-count delta
+     * (FAMILIES_BY_MASK of the new mask minus the old one) to a striped counter, so booking threads
+     * never take a global lock. familyCapacity() is exact once in-flight updates complete.
+     */
+    static class SeatMap {
+        private static final int COLUMN_A = 0;
+        private static final int COLUMN_K = 9;
+        // Bits A..J; K (bit 9) takes no part in family seating
+        private static final int FAMILY_MASK_BITS = (1 << 9) - 1;
+
+        private final AtomicIntegerArray rows;
+        private final LongAdder familyCapacity = new LongAdder();
+
+        SeatMap(int n) {
+            this.rows = new AtomicIntegerArray(n);
+            familyCapacity.add(2L * n);
+        }
+
+        /**
+         * Returns false if the seat was already reserved.
+         */
+        public boolean reserve(int row, char col) {
+            int index = rowIndex(row);
+            int bit = 1 << seatBit(col);
+
+            int oldMask;
+            int newMask;
+            do {
+                oldMask = rows.get(index);
+                if ((oldMask & bit) != 0) return false;
+                newMask = oldMask | bit;
+            } while (!rows.compareAndSet(index, oldMask, newMask));
+
+            applyDelta(oldMask, newMask);
+            return true;
+        }
+
+        /**
+         * Returns false if the seat was not reserved.
+         */
+        public boolean cancel(int row, char col) {
+            int index = rowIndex(row);
+            int bit = 1 << seatBit(col);
+
+            int oldMask;
+            int newMask;
+            do {
+                oldMask = rows.get(index);
+                if ((oldMask & bit) == 0) return false;
+                newMask = oldMask & ~bit;
+            } while (!rows.compareAndSet(index, oldMask, newMask));
+
+            applyDelta(oldMask, newMask);
+            return true;
+        }
+
+        public boolean isReserved(int row, char col) {
+            return (rows.get(rowIndex(row)) & (1 << seatBit(col))) != 0;
+        }
+
+        public long familyCapacity() {
+            return familyCapacity.sum();
+        }
+
+        private void applyDelta(int oldMask, int newMask) {
+            int delta = FAMILIES_BY_MASK[newMask & FAMILY_MASK_BITS] - FAMILIES_BY_MASK[oldMask & FAMILY_MASK_BITS];
+            if (delta != 0) {
+                familyCapacity.add(delta);
+            }
+        }
+
+        private int rowIndex(int row) {
+            if (row < 1 || row > rows.length()) {
+                throw new IllegalArgumentException("Row out of range: " + row);
+            }
+            return row - 1;
+        }
+
+        private static int seatBit(char col) {
+            if (col == 'A') return COLUMN_A;
+            if (col == 'K') return COLUMN_K;
+
+            int bit = getColumnBit(col);
+            if (bit == -1) {
+                throw new IllegalArgumentException("Unknown seat column: " + col);
+            }
+            return bit;
+        }
+    }
+
+    /**
+     * Open-addressing int -> int map with linear probing, for positive row numbers.
+     * Slot key 0 means empty; values are only ever OR-ed in, so there is no removal.
+     */
+    private static final class RowMaskMap {
+        static final int EMPTY = 0;
+
+        private int[] keys = new int[16];
+        private int[] values = new int[16];
+        private int size;
+
+        void or(int key, int bits) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                if (++size * 2 > keys.length) {
+                    values[slot] = bits;
+                    grow();
+                    return;
+                }
+            }
+            values[slot] |= bits;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        int keyAt(int slot) {
+            return keys[slot];
+        }
+
+        int valueAt(int slot) {
+            return values[slot];
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == EMPTY) continue;
+
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        // Rows are often consecutive; spread them so probing stays short
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
 }
\ No newline at end of file
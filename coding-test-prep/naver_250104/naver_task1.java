@@ -1,3 +1,17 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
 class Solution {
     
     // Constants for fare calculation
@@ -50,4 +64,292 @@ class Solution {
             throw new IllegalArgumentException("Start and destination arrays must have the same length");
         }
     }
+
+    /**
+     * Prices a whole day's tap log for every passenger at once.
+     *
+     * The log is a file of fixed-width records: passengerId (int64), start (int32), dest (int32).
+     * Phase 1 splits the file into record ranges that are scanned in parallel through read-only memory
+     * mappings; each range accumulates totalPayPerRideCost and maxStationVisited per passenger into one
+     * primitive long-keyed map per hash partition. Phase 2 merges each partition across ranges in
+     * parallel and applies the dailyLimits cap. dailyLimits is validated once, not per passenger.
+     */
+    static class TapLogFareEngine {
+        static final int RECORD_BYTES = Long.BYTES + 2 * Integer.BYTES;
+        // Records per scan range (64 MiB); also keeps every mapping well under 2 GiB
+        private static final int RANGE_RECORDS = 1 << 22;
+
+        private final int[] dailyLimits;
+        private final ForkJoinPool pool;
+        private final int partitions;
+        // Guards the per-partition totals that finished scans fold into
+        private final Object[] foldLocks;
+
+        TapLogFareEngine(int[] dailyLimits) {
+            this(dailyLimits, ForkJoinPool.commonPool());
+        }
+
+        TapLogFareEngine(int[] dailyLimits, ForkJoinPool pool) {
+            if (dailyLimits == null || dailyLimits.length == 0) {
+                throw new IllegalArgumentException("Daily limits cannot be null or empty");
+            }
+            this.dailyLimits = dailyLimits.clone();
+            this.pool = pool;
+            this.partitions = Math.max(1, pool.getParallelism());
+            this.foldLocks = new Object[partitions];
+            for (int p = 0; p < partitions; p++) {
+                foldLocks[p] = new Object();
+            }
+        }
+
+        /**
+         * Fares for every passenger in the log (in no particular order) and their sum.
+         * A trailing partial record is ignored.
+         * Each range is folded into the shared per-partition totals as soon as its scan ends, so
+         * memory is the distinct passengers of the log plus the ranges being scanned right now.
+         */
+        public FareReport price(Path tapLog, ByteOrder order) throws IOException {
+            try (FileChannel channel = FileChannel.open(tapLog, StandardOpenOption.READ)) {
+                long records = channel.size() / RECORD_BYTES;
+
+                // Slot p is null until the first range for partition p is folded in
+                PassengerTotals[] merged = new PassengerTotals[partitions];
+
+                List<Callable<Void>> scans = new ArrayList<>();
+                int range = 0;
+                for (long first = 0; first < records; first += RANGE_RECORDS) {
+                    long from = first;
+                    int count = (int) Math.min(RANGE_RECORDS, records - first);
+                    int rangeIndex = range++;
+                    scans.add(() -> {
+                        foldInto(merged, scan(channel, order, from, count), rangeIndex);
+                        return null;
+                    });
+                }
+                invokeAll(scans);
+
+                List<Callable<FareReport>> fareTasks = new ArrayList<>();
+                for (int p = 0; p < partitions; p++) {
+                    PassengerTotals totals = merged[p] != null ? merged[p] : new PassengerTotals();
+                    fareTasks.add(() -> fares(totals));
+                }
+                return FareReport.concat(invokeAll(fareTasks));
+            }
+        }
+
+        private PassengerTotals[] scan(FileChannel channel, ByteOrder order, long firstRecord, int count)
+                throws IOException {
+            PassengerTotals[] totals = new PassengerTotals[partitions];
+            for (int p = 0; p < partitions; p++) {
+                totals[p] = new PassengerTotals();
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                                                  firstRecord * RECORD_BYTES, (long) count * RECORD_BYTES);
+            buffer.order(order);
+
+            for (int offset = 0, end = count * RECORD_BYTES; offset < end; offset += RECORD_BYTES) {
+                long passengerId = buffer.getLong(offset);
+                int start = buffer.getInt(offset + Long.BYTES);
+                int dest = buffer.getInt(offset + Long.BYTES + Integer.BYTES);
+                if (start < 0 || dest < 0) {
+                    throw new IllegalArgumentException("Negative station in record " + (firstRecord + offset / RECORD_BYTES));
+                }
+
+                long rideCost = BASE_FARE + (long) FARE_PER_DISTANCE * Math.abs((long) dest - start);
+                totals[partitionOf(passengerId)].add(passengerId, rideCost, Math.max(start, dest));
+            }
+            return totals;
+        }
+
+        private void foldInto(PassengerTotals[] merged, PassengerTotals[] range, int rangeIndex) {
+            for (int i = 0; i < partitions; i++) {
+                // Ranges start at different partitions, so concurrent folds rarely wait on one lock
+                int p = (rangeIndex + i) % partitions;
+                synchronized (foldLocks[p]) {
+                    if (merged[p] == null) {
+                        merged[p] = range[p];
+                    } else {
+                        merged[p].addAll(range[p]);
+                    }
+                }
+                range[p] = null;
+            }
+        }
+
+        private FareReport fares(PassengerTotals merged) {
+            long[] passengerIds = new long[merged.size()];
+            long[] fares = new long[merged.size()];
+            long revenue = 0;
+            int next = 0;
+
+            for (int slot = 0; slot < merged.capacity(); slot++) {
+                if (!merged.isUsed(slot)) continue;
+
+                int maxStationVisited = merged.maxStationAt(slot);
+                // Same clamp as solution(): stations past the table use the last limit
+                int applicableDailyLimit = maxStationVisited >= dailyLimits.length
+                        ? dailyLimits[dailyLimits.length - 1]
+                        : dailyLimits[maxStationVisited];
+
+                passengerIds[next] = merged.keyAt(slot);
+                fares[next] = Math.min(merged.costAt(slot), applicableDailyLimit);
+                revenue += fares[next];
+                next++;
+            }
+            return new FareReport(passengerIds, fares, revenue);
+        }
+
+        private int partitionOf(long passengerId) {
+            return (int) Math.floorMod(PassengerTotals.mix(passengerId) >>> 32, (long) partitions);
+        }
+
+        private <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException {
+            List<T> results = new ArrayList<>(tasks.size());
+            try {
+                for (Future<T> future : pool.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while pricing tap log", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) throw (IOException) cause;
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                throw new IOException(cause);
+            }
+            return results;
+        }
+    }
+
+    static final class FareReport {
+        final long[] passengerIds;
+        final long[] fares;
+        final long totalRevenue;
+
+        FareReport(long[] passengerIds, long[] fares, long totalRevenue) {
+            this.passengerIds = passengerIds;
+            this.fares = fares;
+            this.totalRevenue = totalRevenue;
+        }
+
+        static FareReport concat(List<FareReport> parts) {
+            int size = 0;
+            long revenue = 0;
+            for (FareReport part : parts) {
+                size += part.passengerIds.length;
+                revenue += part.totalRevenue;
+            }
+
+            long[] passengerIds = new long[size];
+            long[] fares = new long[size];
+            int next = 0;
+            for (FareReport part : parts) {
+                System.arraycopy(part.passengerIds, 0, passengerIds, next, part.passengerIds.length);
+                System.arraycopy(part.fares, 0, fares, next, part.fares.length);
+                next += part.passengerIds.length;
+            }
+            return new FareReport(passengerIds, fares, revenue);
+        }
+    }
+
+    /**
+     * Open-addressing map from passengerId to (totalPayPerRideCost, maxStationVisited).
+     * maxStation == -1 marks an empty slot, since stations are never negative.
+     */
+    private static final class PassengerTotals {
+        private static final int EMPTY = -1;
+
+        private long[] keys = new long[16];
+        private long[] costs = new long[16];
+        private int[] maxStations = emptySlots(16);
+        private int size;
+
+        void add(long passengerId, long cost, int station) {
+            int mask = keys.length - 1;
+            int slot = (int) mix(passengerId) & mask;
+            while (maxStations[slot] != EMPTY && keys[slot] != passengerId) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (maxStations[slot] == EMPTY) {
+                keys[slot] = passengerId;
+                costs[slot] = cost;
+                maxStations[slot] = station;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+                return;
+            }
+            costs[slot] += cost;
+            maxStations[slot] = Math.max(maxStations[slot], station);
+        }
+
+        void addAll(PassengerTotals other) {
+            for (int slot = 0; slot < other.keys.length; slot++) {
+                if (other.maxStations[slot] != EMPTY) {
+                    add(other.keys[slot], other.costs[slot], other.maxStations[slot]);
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        boolean isUsed(int slot) {
+            return maxStations[slot] != EMPTY;
+        }
+
+        long keyAt(int slot) {
+            return keys[slot];
+        }
+
+        long costAt(int slot) {
+            return costs[slot];
+        }
+
+        int maxStationAt(int slot) {
+            return maxStations[slot];
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCosts = costs;
+            int[] oldMaxStations = maxStations;
+            keys = new long[oldKeys.length * 2];
+            costs = new long[oldKeys.length * 2];
+            maxStations = emptySlots(oldKeys.length * 2);
+
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldMaxStations[i] == EMPTY) continue;
+
+                int slot = (int) mix(oldKeys[i]) & mask;
+                while (maxStations[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                costs[slot] = oldCosts[i];
+                maxStations[slot] = oldMaxStations[i];
+            }
+        }
+
+        private static int[] emptySlots(int capacity) {
+            int[] slots = new int[capacity];
+            Arrays.fill(slots, EMPTY);
+            return slots;
+        }
+
+        // Low bits pick the slot, high bits pick the partition
+        static long mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 29);
+        }
+    }
 }
\ No newline at end of file
@@ -3,16 +3,74 @@ package com.codility.aop.aspects;
 import com.codility.aop.log.*;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToLongFunction;
 
 @Aspect
 @Component
 public class LoggingAspect {
 
     private final LogFacade logFacade;
+    // Non-null in async mode
+    private final AsyncLogDispatcher dispatcher;
+
+    /**
+     * The advice of this aspect, each with its own sampling rate.
+     */
+    public enum LogPoint { INVOCATION, RETURN_VALUE, THROWN_EXCEPTION, ENTITY_SAVE, ENTITY_SAVING_TIME }
+
+    // Per LogPoint: 1 logs every call, n one call in n, 0 none
+    private final AtomicIntegerArray sampleEvery = new AtomicIntegerArray(LogPoint.values().length);
+    // Keyed by the advised Method: Spring AOP builds a new join point, and StaticPart, per call,
+    // so the map holds one entry per method and the names resolve once
+    private final ConcurrentHashMap<Method, JoinPointNames> namesByMethod = new ConcurrentHashMap<>();
+    // Non-null while latency histograms are recorded
+    private volatile LatencyRecording latency;
+    // Non-null while entity saves go to the binary journal instead of LogFacade
+    private volatile EntitySaveJournal journal;
+
+    // Histogram names in LatencyStats
+    public static final String LATENCY_LOG_ANNOTATED = "@Log";
+    public static final String LATENCY_DB_CONNECTIVITY_SAVE = "DatabaseConnectivity.save";
 
     // Pointcut Constants
     private static final String POINTCUT_DATE_SERVICE_NEXT_DATE = 
@@ -23,8 +81,65 @@ public class LoggingAspect {
     private static final String POINTCUT_DB_CONNECTIVITY_SAVE = 
             "execution(* com.codility.aop.database.DatabaseConnectivity.save(..))";
 
+    @Autowired
     public LoggingAspect(LogFacade logFacade) {
         this.logFacade = logFacade;
+        this.dispatcher = null;
+        logEveryCall();
+    }
+
+    /**
+     * Async mode: advice only publishes to the dispatcher, whose consumer thread calls LogFacade.
+     */
+    public LoggingAspect(AsyncLogDispatcher dispatcher) {
+        this.logFacade = dispatcher.logFacade;
+        this.dispatcher = dispatcher;
+        logEveryCall();
+    }
+
+    /**
+     * Sets how often the advice for point logs: 1 logs every call, n about one call in n, and 0
+     * turns it off, leaving the advice a single volatile read before proceeding.
+     */
+    public void setSampleEvery(LogPoint point, int every) {
+        if (every < 0) {
+            throw new IllegalArgumentException("Sample rate must be >= 0: " + every);
+        }
+        sampleEvery.set(point.ordinal(), every);
+    }
+
+    /**
+     * Records nanosecond latencies of @Log methods and DatabaseConnectivity.save into stats.
+     * From then on EntitySaveTimeLogDto is only emitted for saves taking at least
+     * outlierThresholdNanos.
+     */
+    public void recordLatencies(LatencyStats stats, long outlierThresholdNanos) {
+        latency = new LatencyRecording(
+            stats.histogram(LATENCY_LOG_ANNOTATED),
+            stats.histogram(LATENCY_DB_CONNECTIVITY_SAVE),
+            outlierThresholdNanos
+        );
+    }
+
+    /**
+     * Stops recording latencies; every sampled save emits its DTO again.
+     */
+    public void stopRecordingLatencies() {
+        latency = null;
+    }
+
+    /**
+     * Sends entity-save and save-time events to journal as binary records instead of handing
+     * the entities to LogFacade; null restores LogFacade.
+     */
+    public void journalEntitySaves(EntitySaveJournal journal) {
+        this.journal = journal;
+    }
+
+    private void logEveryCall() {
+        for (int i = 0; i < sampleEvery.length(); i++) {
+            sampleEvery.set(i, 1);
+        }
     }
 
     // -- Pointcuts --
@@ -42,13 +157,27 @@ public class LoggingAspect {
      */
     @Around("@annotation(com.codility.aop.annotations.Log)")
     public Object logMethodInvocation(ProceedingJoinPoint joinPoint) throws Throwable {
-        logFacade.logInvocation(new InvocationLogDto(
-            getClassName(joinPoint), 
-            getMethodName(joinPoint), 
-            Arrays.asList(joinPoint.getArgs())
-        ));
+        if (sampled(LogPoint.INVOCATION)) {
+            JoinPointNames names = names(joinPoint);
+            if (dispatcher != null) {
+                dispatcher.publishInvocation(names.className, names.methodName, joinPoint.getArgs());
+            } else {
+                logFacade.logInvocation(new InvocationLogDto(
+                    names.className, 
+                    names.methodName, 
+                    Arrays.asList(joinPoint.getArgs())
+                ));
+            }
+        }
 
-        return joinPoint.proceed();
+        LatencyRecording recording = latency;
+        if (recording == null) {
+            return joinPoint.proceed();
+        }
+        long startNano = System.nanoTime();
+        Object result = joinPoint.proceed();
+        recording.invocations.record(System.nanoTime() - startNano);
+        return result;
     }
 
     /**
@@ -56,6 +185,13 @@ public class LoggingAspect {
      */
     @AfterReturning(pointcut = "dateServiceGetNextDate()", returning = "result")
     public void logDateServiceReturnValue(JoinPoint joinPoint, Object result) {
+        if (!sampled(LogPoint.RETURN_VALUE)) {
+            return;
+        }
+        if (dispatcher != null) {
+            dispatcher.publishReturnValue(getClassName(joinPoint), getMethodName(joinPoint), result);
+            return;
+        }
         logFacade.logReturnValue(new ReturnLogDto(
             getClassName(joinPoint), 
             getMethodName(joinPoint), 
@@ -68,6 +204,13 @@ public class LoggingAspect {
      */
     @AfterThrowing(pointcut = "dateServiceGetNextDate()", throwing = "exception")
     public void logDateServiceException(JoinPoint joinPoint, Exception exception) {
+        if (!sampled(LogPoint.THROWN_EXCEPTION)) {
+            return;
+        }
+        if (dispatcher != null) {
+            dispatcher.publishThrownException(getClassName(joinPoint), getMethodName(joinPoint), exception);
+            return;
+        }
         logFacade.logThrownException(new ExceptionLogDto(
             getClassName(joinPoint), 
             getMethodName(joinPoint), 
@@ -81,11 +224,23 @@ public class LoggingAspect {
      */
     @AfterReturning("repositorySaveMethods()")
     public void logSavedEntity(JoinPoint joinPoint) {
+        if (!sampled(LogPoint.ENTITY_SAVE)) {
+            return;
+        }
         Object[] args = joinPoint.getArgs();
         if (args == null || args.length == 0) {
             return;
         }
 
+        EntitySaveJournal journal = this.journal;
+        if (journal != null) {
+            journal.appendEntitySave(getClassName(joinPoint), args[0]);
+            return;
+        }
+        if (dispatcher != null) {
+            dispatcher.publishEntitySave(getClassName(joinPoint), args[0]);
+            return;
+        }
         logFacade.logEntitySave(new EntitySaveLogDto(
             getClassName(joinPoint), 
             args[0]
@@ -98,8 +253,11 @@ public class LoggingAspect {
      */
     @Around(POINTCUT_DB_CONNECTIVITY_SAVE)
     public Object logDatabaseConnectivitySaveTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        Object[] args = joinPoint.getArgs();
-        Object entity = (args != null && args.length > 0) ? args[0] : null;
+        boolean log = sampled(LogPoint.ENTITY_SAVING_TIME);
+        LatencyRecording recording = latency;
+        if (!log && recording == null) {
+            return joinPoint.proceed();
+        }
 
         // Use nanoTime for precision
         long startNano = System.nanoTime();
@@ -107,27 +265,885 @@ public class LoggingAspect {
         // proceed() will throw if the underlying method throws.
         // In that case, lines below are skipped, satisfying "no logging on exception".
         Object result = joinPoint.proceed();
-        
+        long executionTimeNanos = System.nanoTime() - startNano;
+
+        if (recording != null) {
+            recording.saves.record(executionTimeNanos);
+            // With histograms on, only outliers get a DTO of their own
+            log &= executionTimeNanos >= recording.outlierThresholdNanos;
+        }
+        if (!log) {
+            return result;
+        }
+
+        Object[] args = joinPoint.getArgs();
+        Object entity = (args != null && args.length > 0) ? args[0] : null;
+
+        EntitySaveJournal journal = this.journal;
+        if (journal != null) {
+            journal.appendEntitySavingTime(getClassName(joinPoint), entity, executionTimeNanos);
+            return result;
+        }
         // Convert nano to millis for the DTO
-        long executionTimeMillis = (System.nanoTime() - startNano) / 1_000_000;
+        long executionTimeMillis = executionTimeNanos / 1_000_000;
 
-        logFacade.logEntitySavingTime(new EntitySaveTimeLogDto(
-            getClassName(joinPoint), 
-            entity, 
-            executionTimeMillis
-        ));
+        if (dispatcher != null) {
+            dispatcher.publishEntitySavingTime(getClassName(joinPoint), entity, executionTimeMillis);
+        } else {
+            logFacade.logEntitySavingTime(new EntitySaveTimeLogDto(
+                getClassName(joinPoint), 
+                entity, 
+                executionTimeMillis
+            ));
+        }
 
         return result;
     }
 
     // -- Helper Methods --
 
+    private boolean sampled(LogPoint point) {
+        int every = sampleEvery.get(point.ordinal());
+        return every == 1 || (every > 1 && ThreadLocalRandom.current().nextInt(every) == 0);
+    }
+
     private String getClassName(JoinPoint joinPoint) {
-        // Use getDeclaringTypeName() to avoid CGLIB proxy names (e.g., DateService$$EnhancerBySpringCGLIB...)
-        return joinPoint.getSignature().getDeclaringTypeName();
+        return names(joinPoint).className;
     }
 
     private String getMethodName(JoinPoint joinPoint) {
-        return joinPoint.getSignature().getName();
+        return names(joinPoint).methodName;
+    }
+
+    private JoinPointNames names(JoinPoint joinPoint) {
+        Signature signature = joinPoint.getSignature();
+        if (!(signature instanceof MethodSignature)) {
+            return new JoinPointNames(signature);
+        }
+        Method method = ((MethodSignature) signature).getMethod();
+        JoinPointNames names = namesByMethod.get(method);
+        if (names == null) {
+            names = new JoinPointNames(signature);
+            namesByMethod.putIfAbsent(method, names);
+        }
+        return names;
+    }
+
+    /**
+     * Declaring-type and method names of one join point.
+     */
+    private static final class JoinPointNames {
+        final String className;
+        final String methodName;
+
+        JoinPointNames(Signature signature) {
+            // Use getDeclaringTypeName() to avoid CGLIB proxy names (e.g., DateService$$EnhancerBySpringCGLIB...)
+            this.className = signature.getDeclaringTypeName();
+            this.methodName = signature.getName();
+        }
+    }
+
+    /**
+     * Async log dispatch. Advice threads copy the log fields into a pre-allocated ring of slots
+     * and return; a single consumer thread builds the DTOs and calls LogFacade.
+     * Producers claim a sequence with a CAS on the claim cursor and publish the slot by writing
+     * its sequence last, so any number of advice threads proceed without locks. The consumer
+     * drains up to MAX_BATCH published slots before advancing its cursor once.
+     * close() seals the claim cursor, so later events are dropped and counted, and stops the
+     * consumer once the claimed events are delivered. A slot still unpublished CLOSE_TIMEOUT_NANOS
+     * after close (its producer died mid-copy) is counted as dropped instead of waited on.
+     */
+    public static final class AsyncLogDispatcher implements AutoCloseable {
+
+        /**
+         * What an advice thread does when the ring is full.
+         * DROP discards the event; BLOCK waits for the consumer to free a slot; SAMPLE keeps one
+         * event in sampleEvery once the ring is half full, and drops when it is full.
+         */
+        public enum Backpressure { DROP, BLOCK, SAMPLE }
+
+        private static final int INVOCATION = 0;
+        private static final int RETURN_VALUE = 1;
+        private static final int THROWN_EXCEPTION = 2;
+        private static final int ENTITY_SAVE = 3;
+        private static final int ENTITY_SAVING_TIME = 4;
+
+        private static final int MAX_BATCH = 256;
+        private static final long IDLE_PARK_NANOS = 50_000;
+        private static final long CLOSE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+        // Sign bit of the claim cursor; once set, every claim fails
+        private static final long CLOSED = Long.MIN_VALUE;
+
+        private final LogFacade logFacade;
+        private final LogEvent[] ring;
+        private final int mask;
+        private final Backpressure backpressure;
+        private final int sampleEvery;
+
+        private final AtomicLong claimed = new AtomicLong();
+        // Next sequence the consumer reads; every slot before it is free
+        private volatile long consumed;
+        // Written before the cursor is sealed, so the consumer sees it once it sees CLOSED
+        private volatile long closeDeadline;
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final Thread consumer;
+
+        public AsyncLogDispatcher(LogFacade logFacade, int capacity, Backpressure backpressure, int sampleEvery) {
+            if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+                throw new IllegalArgumentException("Capacity must be a power of two >= 2: " + capacity);
+            }
+            if (sampleEvery < 1) {
+                throw new IllegalArgumentException("sampleEvery must be >= 1: " + sampleEvery);
+            }
+            this.logFacade = logFacade;
+            this.ring = new LogEvent[capacity];
+            for (int i = 0; i < capacity; i++) {
+                ring[i] = new LogEvent();
+            }
+            this.mask = capacity - 1;
+            this.backpressure = backpressure;
+            this.sampleEvery = sampleEvery;
+
+            this.consumer = new Thread(this::drain, "logging-aspect-dispatcher");
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+
+        public void publishInvocation(String className, String methodName, Object[] args) {
+            publish(INVOCATION, className, methodName, args, null, 0);
+        }
+
+        public void publishReturnValue(String className, String methodName, Object result) {
+            publish(RETURN_VALUE, className, methodName, null, result, 0);
+        }
+
+        public void publishThrownException(String className, String methodName, Exception exception) {
+            publish(THROWN_EXCEPTION, className, methodName, null, exception, 0);
+        }
+
+        public void publishEntitySave(String className, Object entity) {
+            publish(ENTITY_SAVE, className, null, null, entity, 0);
+        }
+
+        public void publishEntitySavingTime(String className, Object entity, long executionTimeMillis) {
+            publish(ENTITY_SAVING_TIME, className, null, null, entity, executionTimeMillis);
+        }
+
+        /**
+         * Events discarded by backpressure, including those sampled out, published after close,
+         * or abandoned unpublished by close.
+         */
+        public long droppedEvents() {
+            return dropped.sum();
+        }
+
+        /**
+         * Events whose LogFacade call threw on the consumer thread.
+         */
+        public long failedEvents() {
+            return failed.sum();
+        }
+
+        /**
+         * Events claimed but not yet delivered.
+         */
+        public long pendingEvents() {
+            return (claimed.get() & ~CLOSED) - consumed;
+        }
+
+        @Override
+        public void close() {
+            closeDeadline = System.nanoTime() + CLOSE_TIMEOUT_NANOS;
+            claimed.getAndUpdate(cursor -> cursor | CLOSED);
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void publish(int kind, String className, String methodName, Object[] args, Object value, long millis) {
+            long sequence = claim();
+            if (sequence < 0) {
+                dropped.increment();
+                return;
+            }
+            LogEvent event = ring[(int) sequence & mask];
+            event.kind = kind;
+            event.className = className;
+            event.methodName = methodName;
+            event.args = args;
+            event.value = value;
+            event.millis = millis;
+            event.sequence = sequence; // Publishes the fields above
+        }
+
+        /**
+         * Returns the claimed sequence, or -1 if backpressure drops the event or the dispatcher is
+         * closed. The CAS fails once close() has set CLOSED, so no claim slips in after the seal.
+         */
+        private long claim() {
+            while (true) {
+                long sequence = claimed.get();
+                if (sequence < 0) {
+                    return -1;
+                }
+                long used = sequence - consumed;
+                if (used >= ring.length) {
+                    if (backpressure == Backpressure.BLOCK) {
+                        Thread.yield();
+                        continue;
+                    }
+                    return -1;
+                }
+                if (backpressure == Backpressure.SAMPLE && used >= ring.length / 2
+                        && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+                    return -1;
+                }
+                if (claimed.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+            }
+        }
+
+        private void drain() {
+            long next = 0;
+            while (true) {
+                int batch = 0;
+                while (batch < MAX_BATCH) {
+                    LogEvent event = ring[(int) next & mask];
+                    if (event.sequence != next) break;
+                    deliver(event);
+                    event.clear();
+                    next++;
+                    batch++;
+                }
+                if (batch > 0) {
+                    consumed = next;
+                    continue;
+                }
+
+                long cursor = claimed.get();
+                long limit = cursor & ~CLOSED;
+                if (next < limit) {
+                    if (cursor < 0 && System.nanoTime() - closeDeadline > 0) {
+                        abandon(next, limit);
+                        return;
+                    }
+                    // Claimed but not yet published; the producer is mid-copy
+                    Thread.yield();
+                } else if (cursor < 0) {
+                    return;
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+
+        /**
+         * Last pass after the close deadline: delivers whatever is published in [next, limit) and
+         * counts the slots whose producer never published as dropped.
+         */
+        private void abandon(long next, long limit) {
+            for (; next < limit; next++) {
+                LogEvent event = ring[(int) next & mask];
+                if (event.sequence == next) {
+                    deliver(event);
+                    event.clear();
+                } else {
+                    dropped.increment();
+                }
+            }
+            consumed = limit;
+        }
+
+        private void deliver(LogEvent event) {
+            try {
+                switch (event.kind) {
+                    case INVOCATION:
+                        logFacade.logInvocation(new InvocationLogDto(event.className, event.methodName, Arrays.asList(event.args)));
+                        break;
+                    case RETURN_VALUE:
+                        logFacade.logReturnValue(new ReturnLogDto(event.className, event.methodName, event.value));
+                        break;
+                    case THROWN_EXCEPTION:
+                        logFacade.logThrownException(new ExceptionLogDto(event.className, event.methodName, (Exception) event.value));
+                        break;
+                    case ENTITY_SAVE:
+                        logFacade.logEntitySave(new EntitySaveLogDto(event.className, event.value));
+                        break;
+                    default:
+                        logFacade.logEntitySavingTime(new EntitySaveTimeLogDto(event.className, event.value, event.millis));
+                        break;
+                }
+            } catch (RuntimeException e) {
+                failed.increment();
+            }
+        }
+
+        /**
+         * One ring slot, reused for every event that lands on it.
+         */
+        private static final class LogEvent {
+            volatile long sequence = -1;
+            int kind;
+            String className;
+            String methodName;
+            Object[] args;
+            Object value;
+            long millis;
+
+            // Drops references so a delivered event does not keep its entity reachable
+            void clear() {
+                className = null;
+                methodName = null;
+                args = null;
+                value = null;
+            }
+        }
+    }
+
+    private static final class LatencyRecording {
+        final LatencyHistogram invocations;
+        final LatencyHistogram saves;
+        final long outlierThresholdNanos;
+
+        LatencyRecording(LatencyHistogram invocations, LatencyHistogram saves, long outlierThresholdNanos) {
+            this.invocations = invocations;
+            this.saves = saves;
+            this.outlierThresholdNanos = outlierThresholdNanos;
+        }
+    }
+
+    /**
+     * Fixed-memory log-linear latency histogram, HdrHistogram-style: values below 64 ns get a
+     * bucket each, above that every power of two is split into 32 buckets, so a reported value
+     * is within about 3% of the true latency. Latencies beyond 2^41 ns (about 36 minutes) share
+     * the last bucket. Counts are striped by thread so recording threads rarely share a cache line.
+     */
+    public static final class LatencyHistogram {
+        private static final int SUB_BITS = 6;
+        private static final int HALF = 1 << (SUB_BITS - 1);
+        private static final int MAX_EXPONENT = 40;
+        private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+        static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 3) * HALF;
+        private static final int MAX_STRIPES = 16;
+
+        private final AtomicLongArray[] counts;
+        private final AtomicLong[] intervalMax;
+        private final int stripeMask;
+        // Bucket totals at the previous snapshot; only touched by intervalSnapshot
+        private long[] previous = new long[BUCKETS];
+
+        LatencyHistogram() {
+            int stripes = 1;
+            while (stripes < Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES)) {
+                stripes <<= 1;
+            }
+            counts = new AtomicLongArray[stripes];
+            intervalMax = new AtomicLong[stripes];
+            for (int i = 0; i < stripes; i++) {
+                counts[i] = new AtomicLongArray(BUCKETS);
+                intervalMax[i] = new AtomicLong();
+            }
+            stripeMask = stripes - 1;
+        }
+
+        public void record(long nanos) {
+            int stripe = (int) Thread.currentThread().getId() & stripeMask;
+            counts[stripe].incrementAndGet(bucketOf(nanos));
+            AtomicLong max = intervalMax[stripe];
+            long current = max.get();
+            while (nanos > current && !max.compareAndSet(current, nanos)) {
+                current = max.get();
+            }
+        }
+
+        /**
+         * Percentiles of the values recorded since the previous call.
+         */
+        synchronized LatencySnapshot intervalSnapshot() {
+            long[] totals = new long[BUCKETS];
+            for (AtomicLongArray stripe : counts) {
+                for (int b = 0; b < BUCKETS; b++) {
+                    totals[b] += stripe.get(b);
+                }
+            }
+            long[] interval = new long[BUCKETS];
+            for (int b = 0; b < BUCKETS; b++) {
+                interval[b] = totals[b] - previous[b];
+            }
+            previous = totals;
+
+            long max = 0;
+            for (AtomicLong stripeMax : intervalMax) {
+                max = Math.max(max, stripeMax.getAndSet(0));
+            }
+            return LatencySnapshot.of(interval, max);
+        }
+
+        static int bucketOf(long nanos) {
+            long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+            if (value < 2 * HALF) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            return (exponent - SUB_BITS + 2) * HALF + (int) (value >>> (exponent - SUB_BITS + 1)) - HALF;
+        }
+
+        static long highestValueIn(int bucket) {
+            if (bucket < 2 * HALF) {
+                return bucket;
+            }
+            int exponent = bucket / HALF - 2 + SUB_BITS;
+            long mantissa = bucket % HALF + HALF;
+            return ((mantissa + 1) << (exponent - SUB_BITS + 1)) - 1;
+        }
+    }
+
+    /**
+     * Latency percentiles of one histogram over one snapshot period, in nanoseconds.
+     */
+    public static final class LatencySnapshot {
+        private final long count;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+        private final long maxNanos;
+
+        private LatencySnapshot(long count, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+            this.count = count;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.p999Nanos = p999Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        static LatencySnapshot of(long[] buckets, long maxNanos) {
+            long count = 0;
+            for (long c : buckets) {
+                count += c;
+            }
+            return new LatencySnapshot(count,
+                percentile(buckets, count, 0.50, maxNanos),
+                percentile(buckets, count, 0.99, maxNanos),
+                percentile(buckets, count, 0.999, maxNanos),
+                maxNanos);
+        }
+
+        // Highest value of the bucket holding the rank, capped at the observed max
+        private static long percentile(long[] buckets, long count, double quantile, long maxNanos) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int b = 0; b < buckets.length; b++) {
+                seen += buckets[b];
+                if (seen >= rank) {
+                    return Math.min(LatencyHistogram.highestValueIn(b), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public long getP999Nanos() {
+            return p999Nanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + " p50=" + p50Nanos + "ns p99=" + p99Nanos
+                 + "ns p999=" + p999Nanos + "ns max=" + maxNanos + "ns";
+        }
+    }
+
+    public interface LatencyStatsMXBean {
+        Map<String, LatencySnapshot> getSnapshots();
+    }
+
+    /**
+     * Named latency histograms, snapshot once per period on a daemon thread.
+     * getSnapshots() is the pull endpoint and returns the last complete period;
+     * registerMBean() also exposes it over JMX under OBJECT_NAME.
+     */
+    public static final class LatencyStats implements LatencyStatsMXBean, AutoCloseable {
+        public static final String OBJECT_NAME = "com.codility.aop:type=LoggingAspectLatency";
+
+        private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+        private final ScheduledExecutorService scheduler;
+        private volatile Map<String, LatencySnapshot> snapshots = Collections.emptyMap();
+        private volatile ObjectName registeredName;
+
+        public LatencyStats(Duration period) {
+            long periodNanos = period.toNanos();
+            if (periodNanos <= 0) {
+                throw new IllegalArgumentException("Snapshot period must be positive: " + period);
+            }
+            scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "logging-aspect-latency");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(this::takeSnapshots, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public LatencyHistogram histogram(String name) {
+            return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+
+        @Override
+        public Map<String, LatencySnapshot> getSnapshots() {
+            return snapshots;
+        }
+
+        public void registerMBean() throws JMException {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            registeredName = name;
+        }
+
+        void takeSnapshots() {
+            Map<String, LatencySnapshot> taken = new TreeMap<>();
+            histograms.forEach((name, histogram) -> taken.put(name, histogram.intervalSnapshot()));
+            snapshots = Collections.unmodifiableMap(taken);
+        }
+
+        @Override
+        public void close() {
+            scheduler.shutdownNow();
+            ObjectName name = registeredName;
+            if (name != null) {
+                try {
+                    ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+                } catch (JMException e) {
+                    // Already unregistered
+                }
+                registeredName = null;
+            }
+        }
+    }
+
+    /**
+     * Append-only binary journal of entity-save events in rolling memory-mapped segments.
+     * A record is RECORD_SIZE bytes, little-endian: int kind, int class id, long entity id,
+     * long epoch millis, long duration in nanos (-1 for ENTITY_SAVE). Class names are written
+     * once per segment as CLASS_NAME records spanning as many slots as they need. The kind is
+     * written last with release semantics, so a reader never sees a half-written record.
+     * Appends are synchronized methods run on the advice threads, so the cursor is a plain int
+     * guarded by the journal's monitor; concurrent saves wait for each other for the few stores
+     * of one record. Callers that must not block on that lock can publish through
+     * AsyncLogDispatcher instead. A new writer always starts a new segment after the existing ones.
+     * Every segment starts with the full class table, so a class whose name would make the table
+     * too big to leave room for a record in one segment is rejected.
+     */
+    public static final class EntitySaveJournal implements AutoCloseable {
+        public static final int ENTITY_SAVE = 1;
+        public static final int ENTITY_SAVING_TIME = 2;
+        static final int CLASS_NAME = 3;
+        // Rest of the segment is unused; continue in the next one
+        static final int ROLL = 4;
+
+        static final int RECORD_SIZE = 32;
+        static final VarHandle KIND = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+        private static final int MIN_SEGMENT_BYTES = 4096;
+        private static final int CLASS_NAME_HEADER = 12;
+
+        private final Path directory;
+        private final int segmentBytes;
+        private final ToLongFunction<Object> entityId;
+        private final Map<String, Integer> classIds = new HashMap<>();
+        // Bytes the CLASS_NAME records of classIds take at the start of every segment
+        private int classTableBytes;
+        private long segmentIndex;
+        private MappedByteBuffer segment;
+        private int cursor;
+
+        /**
+         * Entity ids are the entities' hashCode.
+         */
+        public EntitySaveJournal(Path directory, int segmentBytes) throws IOException {
+            this(directory, segmentBytes, Objects::hashCode);
+        }
+
+        public EntitySaveJournal(Path directory, int segmentBytes, ToLongFunction<Object> entityId) throws IOException {
+            if (segmentBytes < MIN_SEGMENT_BYTES || segmentBytes % RECORD_SIZE != 0) {
+                throw new IllegalArgumentException("Segment size must be a multiple of " + RECORD_SIZE
+                        + " and at least " + MIN_SEGMENT_BYTES + ": " + segmentBytes);
+            }
+            this.directory = Files.createDirectories(directory);
+            this.segmentBytes = segmentBytes;
+            this.entityId = entityId;
+            long last = segmentIndex(directory, false);
+            openSegment(last < 0 ? 0 : last + 1);
+        }
+
+        public synchronized void appendEntitySave(String className, Object entity) {
+            append(ENTITY_SAVE, className, entity, -1);
+        }
+
+        public synchronized void appendEntitySavingTime(String className, Object entity, long durationNanos) {
+            append(ENTITY_SAVING_TIME, className, entity, durationNanos);
+        }
+
+        /**
+         * Forces the current segment to storage.
+         */
+        public synchronized void flush() {
+            segment.force();
+        }
+
+        /**
+         * Marks the end of the current segment, so readers move on to whatever the next writer
+         * appends, and forces it to storage.
+         */
+        @Override
+        public synchronized void close() {
+            if (cursor < segmentBytes) {
+                KIND.setRelease(segment, cursor, ROLL);
+            }
+            segment.force();
+        }
+
+        private void append(int kind, String className, Object entity, long durationNanos) {
+            int classId = classIdOf(className);
+            ensureSpace(RECORD_SIZE);
+            int at = cursor;
+            segment.putInt(at + 4, classId);
+            segment.putLong(at + 8, entity == null ? 0 : entityId.applyAsLong(entity));
+            segment.putLong(at + 16, System.currentTimeMillis());
+            segment.putLong(at + 24, durationNanos);
+            KIND.setRelease(segment, at, kind);
+            cursor = at + RECORD_SIZE;
+        }
+
+        private int classIdOf(String className) {
+            Integer id = classIds.get(className);
+            if (id == null) {
+                int bytes = classNameBytes(className);
+                if (classTableBytes + bytes + RECORD_SIZE > segmentBytes) {
+                    throw new IllegalArgumentException("Segment size " + segmentBytes
+                            + " cannot hold the class table with " + className);
+                }
+                id = classIds.size();
+                ensureSpace(bytes);
+                writeClassName(id, className);
+                classIds.put(className, id);
+                classTableBytes += bytes;
+            }
+            return id;
+        }
+
+        private static int classNameBytes(String className) {
+            return slotsForName(className.getBytes(StandardCharsets.UTF_8).length) * RECORD_SIZE;
+        }
+
+        /**
+         * Writes the CLASS_NAME record at the cursor; the caller has made room for it.
+         */
+        private void writeClassName(int id, String className) {
+            byte[] name = className.getBytes(StandardCharsets.UTF_8);
+            int bytes = slotsForName(name.length) * RECORD_SIZE;
+            int at = cursor;
+            segment.putInt(at + 4, id);
+            segment.putInt(at + 8, name.length);
+            segment.put(at + CLASS_NAME_HEADER, name);
+            KIND.setRelease(segment, at, CLASS_NAME);
+            cursor = at + bytes;
+        }
+
+        static int slotsForName(int nameBytes) {
+            return (CLASS_NAME_HEADER + nameBytes + RECORD_SIZE - 1) / RECORD_SIZE;
+        }
+
+        private void ensureSpace(int bytes) {
+            if (cursor + bytes <= segmentBytes) {
+                return;
+            }
+            if (cursor < segmentBytes) {
+                KIND.setRelease(segment, cursor, ROLL);
+            }
+            segment.force();
+            try {
+                openSegment(segmentIndex + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            // Each segment names the classes it uses before the records that use them.
+            // classIdOf keeps the table at most segmentBytes - RECORD_SIZE, so it fits here.
+            classIds.forEach((name, id) -> writeClassName(id, name));
+        }
+
+        private void openSegment(long index) throws IOException {
+            try (FileChannel channel = FileChannel.open(segmentPath(directory, index),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            }
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+            segmentIndex = index;
+            cursor = 0;
+        }
+
+        static Path segmentPath(Path directory, long index) {
+            return directory.resolve(String.format("entity-saves-%010d.journal", index));
+        }
+
+        /**
+         * Index of the first (lowest = true) or last segment in directory, -1 if there is none.
+         * Files that match the glob but carry no numeric index (entity-saves-old.journal) are skipped.
+         */
+        static long segmentIndex(Path directory, boolean lowest) throws IOException {
+            long found = -1;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "entity-saves-*.journal")) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    long index;
+                    try {
+                        index = Long.parseLong(name.substring("entity-saves-".length(), name.length() - ".journal".length()));
+                    } catch (NumberFormatException e) {
+                        continue;
+                    }
+                    if (index < 0) continue;
+                    if (found < 0 || (lowest ? index < found : index > found)) {
+                        found = index;
+                    }
+                }
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Reads and tails an EntitySaveJournal directory from its first segment. Not thread-safe.
+     * Run as a tool to print a journal: EntitySaveJournalReader <directory> [--follow]
+     */
+    public static final class EntitySaveJournalReader {
+
+        public interface RecordHandler {
+            void onRecord(int kind, String className, long entityId, long timestampMillis, long durationNanos);
+        }
+
+        private final Path directory;
+        private final Map<Integer, String> classNames = new HashMap<>();
+        private long segmentIndex = -1;
+        private MappedByteBuffer segment;
+        private int position;
+
+        public EntitySaveJournalReader(Path directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * Hands up to maxRecords committed records to handler and returns how many it handed;
+         * 0 means the reader has caught up with the writer.
+         */
+        public int poll(RecordHandler handler, int maxRecords) throws IOException {
+            int read = 0;
+            while (read < maxRecords) {
+                if (segment == null && !openSegment()) {
+                    return read;
+                }
+                if (position + EntitySaveJournal.RECORD_SIZE > segment.capacity()) {
+                    nextSegment();
+                    continue;
+                }
+                int kind = (int) EntitySaveJournal.KIND.getAcquire(segment, position);
+                if (kind == 0) {
+                    // Not written yet, unless its writer died and a later one started the next
+                    // segment; a writer only starts one after its last write to this one
+                    if (!Files.exists(EntitySaveJournal.segmentPath(directory, segmentIndex + 1))) {
+                        return read;
+                    }
+                    if ((int) EntitySaveJournal.KIND.getAcquire(segment, position) == 0) {
+                        nextSegment();
+                    }
+                    continue;
+                }
+                if (kind == EntitySaveJournal.ROLL) {
+                    nextSegment();
+                } else if (kind == EntitySaveJournal.CLASS_NAME) {
+                    int length = segment.getInt(position + 8);
+                    byte[] name = new byte[length];
+                    segment.get(position + 12, name);
+                    classNames.put(segment.getInt(position + 4), new String(name, StandardCharsets.UTF_8));
+                    position += EntitySaveJournal.slotsForName(length) * EntitySaveJournal.RECORD_SIZE;
+                } else {
+                    handler.onRecord(kind,
+                        classNames.get(segment.getInt(position + 4)),
+                        segment.getLong(position + 8),
+                        segment.getLong(position + 16),
+                        segment.getLong(position + 24));
+                    position += EntitySaveJournal.RECORD_SIZE;
+                    read++;
+                }
+            }
+            return read;
+        }
+
+        private void nextSegment() {
+            segment = null;
+            segmentIndex++;
+            position = 0;
+        }
+
+        private boolean openSegment() throws IOException {
+            if (segmentIndex < 0) {
+                segmentIndex = EntitySaveJournal.segmentIndex(directory, true);
+                if (segmentIndex < 0) {
+                    return false;
+                }
+            }
+            Path path = EntitySaveJournal.segmentPath(directory, segmentIndex);
+            if (!Files.exists(path)) {
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size == 0) {
+                    return false; // Created but not sized yet
+                }
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+            return true;
+        }
+
+        public static void main(String[] args) throws IOException, InterruptedException {
+            if (args.length < 1) {
+                System.err.println("Usage: EntitySaveJournalReader <directory> [--follow]");
+                System.exit(2);
+            }
+            boolean follow = args.length > 1 && "--follow".equals(args[1]);
+            EntitySaveJournalReader reader = new EntitySaveJournalReader(Paths.get(args[0]));
+            RecordHandler printer = (kind, className, entityId, timestampMillis, durationNanos) ->
+                System.out.println(timestampMillis + " " + className + " " + entityId
+                    + (kind == EntitySaveJournal.ENTITY_SAVING_TIME ? " " + durationNanos + "ns" : ""));
+            while (true) {
+                if (reader.poll(printer, 1024) == 0) {
+                    if (!follow) {
+                        return;
+                    }
+                    Thread.sleep(100);
+                }
+            }
+        }
     }
 }
\ No newline at end of file
@@ -1,4 +1,14 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Task 1: Log Level Parser
@@ -9,6 +19,7 @@ import java.util.*;
  * - Robust stack management: Ignore mismatched closing tags instead of clearing the stack.
  * - Defensive programming: Added null/empty checks.
  * - Optimization: Uses StringBuilder for result construction.
+ * - Optimization: Level names are interned in place into a LevelNameTable; the stack holds int ids.
  */
 class Solution {
     public String solution(String[] logs) {
@@ -16,9 +27,11 @@ class Solution {
             return "";
         }
 
-        List<Integer> result = new ArrayList<>();
-        Deque<String> levelStack = new ArrayDeque<>(); // Use Deque instead of Stack for better performance
-        Map<String, Integer> levelMap = new HashMap<>();
+        StringBuilder sb = new StringBuilder();
+        LevelNameTable levelNames = new LevelNameTable();
+        int[] levelIds = new int[16]; // by interned name
+        int[] levelStack = new int[16]; // level ids, so a closer match is one int compare
+        int depth = 0;
         int nextLevelId = 1;
         
         for (String log : logs) {
@@ -26,41 +39,711 @@ class Solution {
 
             // Case 1: Start Tag "<[LEVEL_NAME]>"
             if (log.startsWith("<[") && !log.startsWith("<[/") && log.endsWith("]")) {
-                String levelName = log.substring(2, log.length() - 1);
-                levelStack.push(levelName);
-                levelMap.putIfAbsent(levelName, nextLevelId++);
+                int name = levelNames.intern(log, 2, log.length() - 1);
+                if (name == levelIds.length) {
+                    levelIds = Arrays.copyOf(levelIds, name * 2);
+                }
+                if (levelIds[name] == 0) {
+                    levelIds[name] = nextLevelId;
+                }
+                nextLevelId++;
+                if (depth == levelStack.length) {
+                    levelStack = Arrays.copyOf(levelStack, depth * 2);
+                }
+                levelStack[depth++] = levelIds[name];
             }
             // Case 2: End Tag "<[/LEVEL_NAME]>"
             else if (log.startsWith("<[/") && log.endsWith("]")) {
-                String levelName = log.substring(3, log.length() - 1);
+                int name = levelNames.find(log, 3, log.length() - 1);
                 
                 // Only pop if it matches the current top to maintain context integrity
-                if (!levelStack.isEmpty() && levelStack.peek().equals(levelName)) {
-                    levelStack.pop();
+                if (name >= 0 && depth > 0 && levelStack[depth - 1] == levelIds[name]) {
+                    depth--;
                 }
             }
             // Case 3: Regular Log Message
             else {
-                if (levelStack.isEmpty()) {
-                    result.add(0); // Root level
-                } else {
-                    String currentLevel = levelStack.peek();
-                    result.add(levelMap.get(currentLevel));
+                if (sb.length() > 0) {
+                    sb.append(' ');
                 }
+                sb.append(depth == 0 ? 0 : levelStack[depth - 1]); // 0 is the root level
             }
         }
 
-        // Format output
-        if (result.isEmpty()) return "";
-        
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < result.size(); i++) {
-            sb.append(result.get(i));
-            if (i < result.size() - 1) {
-                sb.append(" ");
+        return sb.toString();
+    }
+
+    /**
+     * Streaming variant of solution() for logs too large for a String[]: lines are read from in,
+     * separated by '\n' (a trailing '\r' is dropped), and the same space-separated output is
+     * written to out. Returns the number of messages.
+     */
+    public long solutionStreaming(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        LogLevelStreamParser parser = new LogLevelStreamParser(out);
+        ByteBuffer chunk = ByteBuffer.allocateDirect(LogLevelStreamParser.CHUNK_BYTES);
+        while (in.read(chunk) >= 0) {
+            chunk.flip();
+            parser.feed(chunk);
+            chunk.clear();
+        }
+        return parser.finish();
+    }
+
+    /**
+     * solutionStreaming over a memory-mapped file, mapped one window at a time so files of any
+     * size are read without copying into the heap.
+     */
+    public long solutionFromFile(Path logFile, WritableByteChannel out) throws IOException {
+        LogLevelStreamParser parser = new LogLevelStreamParser(out);
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += LogLevelStreamParser.MAP_WINDOW_BYTES) {
+                long length = Math.min(LogLevelStreamParser.MAP_WINDOW_BYTES, size - position);
+                parser.feed(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
             }
         }
+        return parser.finish();
+    }
 
-        return sb.toString();
+    public long solutionParallel(Path logFile, WritableByteChannel out) throws IOException {
+        return solutionParallel(logFile, out, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Fork-join variant of solutionFromFile. The file is split at line boundaries into LogChunks
+     * that are parsed in parallel against an unknown incoming stack. Chunk summaries are then
+     * combined left to right, which fixes every chunk's level ids and incoming stack, and the
+     * chunks are formatted in parallel and written in order. Output matches solutionFromFile.
+     * The stages are pipelined: at most 2 * parallelism chunks are parsed ahead of the one being
+     * resolved, and at most parallelism formatted buffers wait behind the one being written, so
+     * memory depends on the pool size rather than on the file size.
+     */
+    public long solutionParallel(Path logFile, WritableByteChannel out, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long[] bounds = LogChunk.split(channel, pool.getParallelism());
+            int parseAhead = 2 * pool.getParallelism();
+            int formatsInFlight = pool.getParallelism();
+
+            Deque<Future<LogChunk>> parses = new ArrayDeque<>();
+            Deque<Future<ByteBuffer>> formats = new ArrayDeque<>();
+            LogChunk.Reconciler reconciler = new LogChunk.Reconciler();
+            long messages = 0;
+            int nextChunk = 0;
+            try {
+                while (nextChunk + 1 < bounds.length || !parses.isEmpty()) {
+                    while (parses.size() < parseAhead && nextChunk + 1 < bounds.length) {
+                        long from = bounds[nextChunk];
+                        long to = bounds[++nextChunk];
+                        parses.add(pool.submit(() -> LogChunk.parse(channel.map(FileChannel.MapMode.READ_ONLY, from, to - from))));
+                    }
+
+                    LogChunk chunk = await(parses.poll());
+                    reconciler.resolve(chunk);
+                    boolean leadingSpace = messages > 0;
+                    formats.add(pool.submit(() -> chunk.format(leadingSpace)));
+                    messages += chunk.messages();
+
+                    // Write every buffer that is ready, and wait for the oldest once too many are pending
+                    while (!formats.isEmpty() && (formats.size() > formatsInFlight || formats.peek().isDone())) {
+                        write(out, await(formats.poll()));
+                    }
+                }
+                while (!formats.isEmpty()) {
+                    write(out, await(formats.poll()));
+                }
+                return messages;
+            } finally {
+                // Only non-empty when a chunk failed; the rest would map a closed channel
+                parses.forEach(future -> future.cancel(false));
+                formats.forEach(future -> future.cancel(false));
+            }
+        }
+    }
+
+    private static void write(WritableByteChannel out, ByteBuffer formatted) throws IOException {
+        while (formatted.hasRemaining()) {
+            out.write(formatted);
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing log", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Byte-level log level parser with the rules of solution(). Tag lines are recognized on raw
+     * bytes; the level stack is an int[] of level ids, so a closer matches when its id equals the
+     * top. Each message's level id is written as soon as its line ends, and a line split across
+     * two chunks is carried over, so memory depends on nesting depth and distinct level names,
+     * not on input size.
+     */
+    static class LogLevelStreamParser {
+        static final int CHUNK_BYTES = 1 << 20;
+        static final long MAP_WINDOW_BYTES = 1L << 30;
+        private static final int OUTPUT_BYTES = 1 << 16;
+
+        static final int EMPTY = 0;
+        static final int MESSAGE = 1;
+        static final int OPENER = 2;
+        static final int CLOSER = 3;
+
+        private final WritableByteChannel out;
+        private final ByteBuffer output = ByteBuffer.allocate(OUTPUT_BYTES);
+        private final LevelNameTable levelNames = new LevelNameTable();
+        private int[] levelIds = new int[16];
+        // Advances on every opener, as nextLevelId does in solution()
+        private int nextLevelId = 1;
+        private int[] levelStack = new int[64];
+        private int depth;
+        private long messages;
+
+        // Bytes of a line not yet terminated at the end of the last chunk
+        private byte[] carry = new byte[256];
+        private ByteBuffer carryView = ByteBuffer.wrap(carry);
+        private int carryLength;
+
+        LogLevelStreamParser(WritableByteChannel out) {
+            this.out = out;
+        }
+
+        /**
+         * Parses every complete line in chunk[position, limit) and keeps the unterminated tail.
+         */
+        void feed(ByteBuffer chunk) throws IOException {
+            int position = chunk.position();
+            int limit = chunk.limit();
+            int newline = indexOfNewline(chunk, position, limit);
+            if (carryLength > 0) {
+                if (newline < 0) {
+                    appendCarry(chunk, position, limit);
+                    chunk.position(limit);
+                    return;
+                }
+                appendCarry(chunk, position, newline);
+                line(carryView, 0, carryLength);
+                carryLength = 0;
+                position = newline + 1;
+                newline = indexOfNewline(chunk, position, limit);
+            }
+            while (newline >= 0) {
+                line(chunk, position, newline);
+                position = newline + 1;
+                newline = indexOfNewline(chunk, position, limit);
+            }
+            appendCarry(chunk, position, limit);
+            chunk.position(limit);
+        }
+
+        /**
+         * Parses a last unterminated line, flushes the output and returns the message count.
+         */
+        long finish() throws IOException {
+            if (carryLength > 0) {
+                line(carryView, 0, carryLength);
+                carryLength = 0;
+            }
+            flush();
+            return messages;
+        }
+
+        private void line(ByteBuffer buf, int start, int end) throws IOException {
+            end = trimLine(buf, start, end);
+            switch (kind(buf, start, end)) {
+                case EMPTY:
+                    return;
+                case CLOSER: {
+                    // Only pops when it names the current top
+                    int name = levelNames.find(buf, start + 3, end - 1);
+                    if (name >= 0 && depth > 0 && levelStack[depth - 1] == levelIds[name]) {
+                        depth--;
+                    }
+                    return;
+                }
+                case OPENER: {
+                    int name = levelNames.intern(buf, start + 2, end - 1);
+                    if (name == levelIds.length) {
+                        levelIds = Arrays.copyOf(levelIds, name * 2);
+                    }
+                    if (levelIds[name] == 0) {
+                        levelIds[name] = nextLevelId;
+                    }
+                    nextLevelId++;
+                    if (depth == levelStack.length) {
+                        levelStack = Arrays.copyOf(levelStack, depth * 2);
+                    }
+                    levelStack[depth++] = levelIds[name];
+                    return;
+                }
+                default:
+                    writeLevel(depth == 0 ? 0 : levelStack[depth - 1]);
+            }
+        }
+
+        /**
+         * End of the line [start, end) without a trailing '\r'.
+         */
+        static int trimLine(ByteBuffer buf, int start, int end) {
+            return end > start && buf.get(end - 1) == '\r' ? end - 1 : end;
+        }
+
+        /**
+         * Classifies a trimmed line the way solution() does.
+         */
+        static int kind(ByteBuffer buf, int start, int end) {
+            int length = end - start;
+            if (length == 0) return EMPTY;
+            if (length >= 3 && buf.get(start) == '<' && buf.get(start + 1) == '[' && buf.get(end - 1) == ']') {
+                return buf.get(start + 2) == '/' ? CLOSER : OPENER;
+            }
+            return MESSAGE;
+        }
+
+        private void writeLevel(int id) throws IOException {
+            if (output.remaining() < 12) {
+                flush();
+            }
+            if (messages++ > 0) {
+                output.put((byte) ' ');
+            }
+            putDecimal(output, id);
+        }
+
+        static void putDecimal(ByteBuffer buf, int id) {
+            if (id < 10) {
+                buf.put((byte) ('0' + id));
+                return;
+            }
+            int digits = digits(id);
+            int at = buf.position() + digits;
+            for (int v = id; v > 0; v /= 10) {
+                buf.put(--at, (byte) ('0' + v % 10));
+            }
+            buf.position(buf.position() + digits);
+        }
+
+        static int digits(int id) {
+            int digits = 1;
+            for (int v = id; v >= 10; v /= 10) digits++;
+            return digits;
+        }
+
+        private void flush() throws IOException {
+            output.flip();
+            while (output.hasRemaining()) {
+                out.write(output);
+            }
+            output.clear();
+        }
+
+        private void appendCarry(ByteBuffer chunk, int start, int end) {
+            int length = end - start;
+            if (carryLength + length > carry.length) {
+                carry = Arrays.copyOf(carry, Math.max(carry.length * 2, carryLength + length));
+                carryView = ByteBuffer.wrap(carry);
+            }
+            chunk.get(start, carry, carryLength, length);
+            carryLength += length;
+        }
+
+        static int indexOfNewline(ByteBuffer buf, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (buf.get(i) == '\n') return i;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * One line-aligned slice of a log, parsed without knowing the stack it starts under.
+     *
+     * Level names are numbered per chunk as local symbols. While the chunk's own stack is
+     * non-empty everything is resolved locally; a closer that meets an empty local stack is kept
+     * as an underflow closer for the incoming stack, and a message there records how many
+     * underflow closers precede it. The summary is therefore "underflow closers, then the
+     * unclosed local openers", and Reconciler replays it, including the rule that a closer that
+     * does not name the top is ignored.
+     */
+    static final class LogChunk {
+        // Chunk size bounds; each chunk is one mapping, so a single line must stay under 2 GiB
+        private static final long MIN_CHUNK_BYTES = 1 << 20;
+        private static final long MAX_CHUNK_BYTES = 1 << 26;
+        private static final int SCAN_BYTES = 1 << 13;
+
+        private final LevelNameTable symbols = new LevelNameTable();
+        // Openers in the chunk before a symbol's first opener, or -1 if it only closes
+        private int[] firstOpener = new int[16];
+        private int openers;
+
+        private int[] stack = new int[64];
+        private int depth;
+        private int[] underflow = new int[16];
+        private int underflowCount;
+
+        // Per message: a local symbol, or ~k for the incoming top after k underflow closers
+        private int[] levels = new int[1024];
+        private int messages;
+
+        // Filled in by Reconciler
+        private int[] globalIds;
+        private int[] incomingTops;
+        private int maxId;
+
+        /**
+         * Chunk boundaries: roughly equal slices, each extended to just past a '\n'.
+         */
+        static long[] split(FileChannel channel, int parallelism) throws IOException {
+            long size = channel.size();
+            long target = Math.max(MIN_CHUNK_BYTES,
+                                   Math.min(MAX_CHUNK_BYTES, size / (4L * Math.max(1, parallelism)) + 1));
+            List<Long> bounds = new ArrayList<>();
+            bounds.add(0L);
+            ByteBuffer scan = ByteBuffer.allocate(SCAN_BYTES);
+            long start = 0;
+            while (start < size) {
+                long end = Math.min(size, start + target);
+                while (end < size) {
+                    scan.clear();
+                    int read = channel.read(scan, end);
+                    int newline = LogLevelStreamParser.indexOfNewline(scan, 0, Math.max(read, 0));
+                    if (newline >= 0) {
+                        end += newline + 1;
+                        break;
+                    }
+                    end += Math.max(read, 0);
+                }
+                end = Math.min(end, size);
+                if (end - start > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Log line at byte " + start + " is longer than 2 GiB");
+                }
+                bounds.add(end);
+                start = end;
+            }
+
+            long[] result = new long[bounds.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = bounds.get(i);
+            }
+            return result;
+        }
+
+        static LogChunk parse(ByteBuffer buf) {
+            LogChunk chunk = new LogChunk();
+            int limit = buf.limit();
+            int position = 0;
+            while (position < limit) {
+                int newline = LogLevelStreamParser.indexOfNewline(buf, position, limit);
+                int end = newline < 0 ? limit : newline;
+                chunk.line(buf, position, LogLevelStreamParser.trimLine(buf, position, end));
+                position = end + 1;
+            }
+            return chunk;
+        }
+
+        int messages() {
+            return messages;
+        }
+
+        private void line(ByteBuffer buf, int start, int end) {
+            switch (LogLevelStreamParser.kind(buf, start, end)) {
+                case LogLevelStreamParser.EMPTY:
+                    return;
+                case LogLevelStreamParser.CLOSER: {
+                    int symbol = symbol(buf, start + 3, end - 1);
+                    if (depth == 0) {
+                        if (underflowCount == underflow.length) {
+                            underflow = Arrays.copyOf(underflow, underflowCount * 2);
+                        }
+                        underflow[underflowCount++] = symbol;
+                    } else if (stack[depth - 1] == symbol) {
+                        depth--;
+                    }
+                    return;
+                }
+                case LogLevelStreamParser.OPENER: {
+                    int symbol = symbol(buf, start + 2, end - 1);
+                    if (firstOpener[symbol] < 0) {
+                        firstOpener[symbol] = openers;
+                    }
+                    openers++;
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = symbol;
+                    return;
+                }
+                default:
+                    if (messages == levels.length) {
+                        levels = Arrays.copyOf(levels, messages * 2);
+                    }
+                    levels[messages++] = depth > 0 ? stack[depth - 1] : ~underflowCount;
+            }
+        }
+
+        private int symbol(ByteBuffer buf, int start, int end) {
+            int known = symbols.size();
+            int symbol = symbols.intern(buf, start, end);
+            if (symbol == known) {
+                if (symbol == firstOpener.length) {
+                    firstOpener = Arrays.copyOf(firstOpener, symbol * 2);
+                }
+                firstOpener[symbol] = -1;
+            }
+            return symbol;
+        }
+
+        /**
+         * The chunk's messages as decimal level ids, space-separated; needs resolved ids.
+         */
+        ByteBuffer format(boolean leadingSpace) {
+            int width = LogLevelStreamParser.digits(maxId) + 1;
+            ByteBuffer out = ByteBuffer.allocate(messages * width);
+            for (int i = 0; i < messages; i++) {
+                if (i > 0 || leadingSpace) {
+                    out.put((byte) ' ');
+                }
+                int level = levels[i];
+                LogLevelStreamParser.putDecimal(out, level >= 0 ? globalIds[level] : incomingTops[~level]);
+            }
+            return out.flip();
+        }
+
+        /**
+         * Left-to-right combination of chunk summaries. Holds the global name-to-id map, the
+         * number of openers so far (ids are assigned as in solution()) and the global stack.
+         */
+        static final class Reconciler {
+            private final LevelNameTable levelNames = new LevelNameTable();
+            private int[] levelIds = new int[16];
+            private int openers;
+            private int[] stack = new int[64];
+            private int depth;
+
+            void resolve(LogChunk chunk) {
+                int[] globalIds = new int[chunk.symbols.size()];
+                for (int symbol = 0; symbol < globalIds.length; symbol++) {
+                    int name = levelNames.find(chunk.symbols, symbol);
+                    if (name < 0 && chunk.firstOpener[symbol] >= 0) {
+                        name = levelNames.intern(chunk.symbols, symbol);
+                        if (name == levelIds.length) {
+                            levelIds = Arrays.copyOf(levelIds, name * 2);
+                        }
+                        levelIds[name] = openers + chunk.firstOpener[symbol] + 1;
+                    }
+                    // 0 never matches a stack entry: the name has not been opened yet
+                    globalIds[symbol] = name < 0 ? 0 : levelIds[name];
+                }
+
+                int[] incomingTops = new int[chunk.underflowCount + 1];
+                incomingTops[0] = top();
+                for (int k = 0; k < chunk.underflowCount; k++) {
+                    if (depth > 0 && stack[depth - 1] == globalIds[chunk.underflow[k]]) {
+                        depth--;
+                    }
+                    incomingTops[k + 1] = top();
+                }
+                for (int i = 0; i < chunk.depth; i++) {
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = globalIds[chunk.stack[i]];
+                }
+
+                openers += chunk.openers;
+                chunk.globalIds = globalIds;
+                chunk.incomingTops = incomingTops;
+                chunk.maxId = openers;
+            }
+
+            private int top() {
+                return depth == 0 ? 0 : stack[depth - 1];
+            }
+        }
+    }
+
+    /**
+     * Level-name dictionary with dense int ids (0, 1, 2, ... in first-interned order).
+     *
+     * Names are hashed and compared in place, straight from the log line, a String range or
+     * another table, so looking up a known name allocates nothing. Name characters live in one
+     * char[] (bytes are read as ISO-8859-1), and the open-addressing slots hold entry ids with
+     * -1 for empty. Each entry keeps its hash, so a probe rejects most mismatches on an int compare
+     * and growing never rehashes names.
+     */
+    static final class LevelNameTable {
+        private static final int EMPTY = -1;
+
+        private char[] chars = new char[256];
+        private int charCount;
+        private int[] offsets = new int[16];
+        private int[] lengths = new int[16];
+        private int[] hashes = new int[16];
+        private int size;
+        private int[] slots = emptySlots(32);
+
+        int size() {
+            return size;
+        }
+
+        int find(ByteBuffer buf, int start, int end) {
+            int hash = hash(buf, start, end);
+            for (int slot = hash & (slots.length - 1); ; slot = (slot + 1) & (slots.length - 1)) {
+                int id = slots[slot];
+                if (id == EMPTY || hashes[id] == hash && equals(id, buf, start, end)) return id;
+            }
+        }
+
+        int intern(ByteBuffer buf, int start, int end) {
+            int hash = hash(buf, start, end);
+            int slot = hash & (slots.length - 1);
+            for (int id; (id = slots[slot]) != EMPTY; slot = (slot + 1) & (slots.length - 1)) {
+                if (hashes[id] == hash && equals(id, buf, start, end)) return id;
+            }
+            int offset = reserve(end - start);
+            for (int i = start; i < end; i++) {
+                chars[offset + i - start] = (char) (buf.get(i) & 0xFF);
+            }
+            return add(slot, hash, offset, end - start);
+        }
+
+        int find(String s, int start, int end) {
+            int hash = hash(s, start, end);
+            for (int slot = hash & (slots.length - 1); ; slot = (slot + 1) & (slots.length - 1)) {
+                int id = slots[slot];
+                if (id == EMPTY || hashes[id] == hash && equals(id, s, start, end)) return id;
+            }
+        }
+
+        int intern(String s, int start, int end) {
+            int hash = hash(s, start, end);
+            int slot = hash & (slots.length - 1);
+            for (int id; (id = slots[slot]) != EMPTY; slot = (slot + 1) & (slots.length - 1)) {
+                if (hashes[id] == hash && equals(id, s, start, end)) return id;
+            }
+            int offset = reserve(end - start);
+            s.getChars(start, end, chars, offset);
+            return add(slot, hash, offset, end - start);
+        }
+
+        /**
+         * Looks up the name of other's entry otherId.
+         */
+        int find(LevelNameTable other, int otherId) {
+            int hash = other.hashes[otherId];
+            for (int slot = hash & (slots.length - 1); ; slot = (slot + 1) & (slots.length - 1)) {
+                int id = slots[slot];
+                if (id == EMPTY || hashes[id] == hash && equals(id, other, otherId)) return id;
+            }
+        }
+
+        int intern(LevelNameTable other, int otherId) {
+            int hash = other.hashes[otherId];
+            int slot = hash & (slots.length - 1);
+            for (int id; (id = slots[slot]) != EMPTY; slot = (slot + 1) & (slots.length - 1)) {
+                if (hashes[id] == hash && equals(id, other, otherId)) return id;
+            }
+            int length = other.lengths[otherId];
+            int offset = reserve(length);
+            System.arraycopy(other.chars, other.offsets[otherId], chars, offset, length);
+            return add(slot, hash, offset, length);
+        }
+
+        private static int hash(ByteBuffer buf, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + (buf.get(i) & 0xFF);
+            }
+            return mix(h);
+        }
+
+        private static int hash(String s, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + s.charAt(i);
+            }
+            return mix(h);
+        }
+
+        private static int mix(int h) {
+            h *= 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        private boolean equals(int id, ByteBuffer buf, int start, int end) {
+            if (lengths[id] != end - start) return false;
+            for (int i = start, c = offsets[id]; i < end; i++, c++) {
+                if (chars[c] != (buf.get(i) & 0xFF)) return false;
+            }
+            return true;
+        }
+
+        private boolean equals(int id, String s, int start, int end) {
+            if (lengths[id] != end - start) return false;
+            for (int i = start, c = offsets[id]; i < end; i++, c++) {
+                if (chars[c] != s.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        private boolean equals(int id, LevelNameTable other, int otherId) {
+            int length = lengths[id];
+            return length == other.lengths[otherId]
+                    && Arrays.equals(chars, offsets[id], offsets[id] + length,
+                                     other.chars, other.offsets[otherId], other.offsets[otherId] + length);
+        }
+
+        private int reserve(int length) {
+            if (charCount + length > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + length));
+            }
+            int offset = charCount;
+            charCount += length;
+            return offset;
+        }
+
+        private int add(int slot, int hash, int offset, int length) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+            int id = size++;
+            offsets[id] = offset;
+            lengths[id] = length;
+            hashes[id] = hash;
+            slots[slot] = id;
+            if (size * 2 > slots.length) {
+                grow();
+            }
+            return id;
+        }
+
+        private void grow() {
+            int[] grown = emptySlots(slots.length * 2);
+            int mask = grown.length - 1;
+            for (int id = 0; id < size; id++) {
+                int slot = hashes[id] & mask;
+                while (grown[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                grown[slot] = id;
+            }
+            slots = grown;
+        }
+
+        private static int[] emptySlots(int capacity) {
+            int[] slots = new int[capacity];
+            Arrays.fill(slots, EMPTY);
+            return slots;
+        }
     }
 }
\ No newline at end of file
@@ -1,4 +1,18 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
 class Solution {
+    // Words per parallel chunk of solution(long[], boolean)
+    private static final int WORD_CHUNK = 1 << 16;
+    // Mapping window; a multiple of 8 so only the last window has a partial word
+    private static final long MAP_WINDOW_BYTES = 1L << 30;
+    private static final long ASCII_ZEROS = 0x3030303030303030L;
+    private static final long LOW_BITS = 0x0101010101010101L;
+
     /**
      * Calculates the number of operations to reduce a binary string S to 0.
      * Operations:
@@ -42,4 +56,148 @@ class Solution {
         
         return operations;
     }
+
+    /**
+     * Same count for a number packed into words, least significant word first: bit j of
+     * words[k] is bit 64k + j of the value. With L significant bits and W ones the answer is
+     * L - 1 + W (one divide per bit below the top, one subtract per 1), so only the top word's
+     * leading zeros and a Long.bitCount per word are needed.
+     *
+     * @param parallel Count ones over word chunks on the common fork-join pool
+     * @return Number of operations (long, since multi-gigabit inputs overflow int)
+     */
+    public long solution(long[] words, boolean parallel) {
+        int top = words.length - 1;
+        while (top >= 0 && words[top] == 0) {
+            top--;
+        }
+        if (top < 0) {
+            return 0;
+        }
+
+        long significantBits = 64L * top + 64 - Long.numberOfLeadingZeros(words[top]);
+        int used = top + 1;
+        int chunks = (used + WORD_CHUNK - 1) / WORD_CHUNK;
+        IntStream range = IntStream.range(0, chunks);
+        if (parallel) {
+            range = range.parallel();
+        }
+        long ones = range.mapToLong(c -> countOnes(words, c * WORD_CHUNK, (int) Math.min(used, (c + 1L) * WORD_CHUNK)))
+                         .sum();
+        return significantBits - 1 + ones;
+    }
+
+    /**
+     * Same count for a file of ASCII '0'/'1' digits, most significant first as in solution(String);
+     * trailing line breaks are ignored. The file is memory-mapped in windows and read eight digits
+     * at a time: leading '0' words are skipped, and each word's ones are counted with
+     * Long.bitCount after checking that every byte is a digit.
+     *
+     * @param parallel Count ones over mapped windows on the common fork-join pool
+     * @return Number of operations
+     */
+    public long solutionFromFile(Path bitFile, boolean parallel) throws IOException {
+        try (FileChannel channel = FileChannel.open(bitFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int windows = (int) ((size + MAP_WINDOW_BYTES - 1) / MAP_WINDOW_BYTES);
+            MappedByteBuffer[] mapped = new MappedByteBuffer[windows];
+            for (int w = 0; w < windows; w++) {
+                long position = (long) w * MAP_WINDOW_BYTES;
+                mapped[w] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                                        Math.min(MAP_WINDOW_BYTES, size - position));
+            }
+
+            long end = size;
+            while (end > 0 && isLineBreak(byteAt(mapped, end - 1))) {
+                end--;
+            }
+            long firstOne = firstOne(mapped, end);
+            if (firstOne < 0) {
+                return 0;
+            }
+
+            long from = firstOne;
+            long to = end;
+            IntStream range = IntStream.range((int) (from / MAP_WINDOW_BYTES), windows);
+            if (parallel) {
+                range = range.parallel();
+            }
+            long ones = range.mapToLong(w -> {
+                long base = (long) w * MAP_WINDOW_BYTES;
+                int start = (int) (Math.max(from, base) - base);
+                int stop = (int) (Math.max(Math.min(to, base + MAP_WINDOW_BYTES), base) - base);
+                return countOnes(mapped[w], base, start, stop);
+            }).sum();
+            return to - from - 1 + ones;
+        }
+    }
+
+    private static long countOnes(long[] words, int from, int to) {
+        long ones = 0;
+        for (int i = from; i < to; i++) {
+            ones += Long.bitCount(words[i]);
+        }
+        return ones;
+    }
+
+    /**
+     * Ones among the digits in [from, to) of one window.
+     */
+    private static long countOnes(MappedByteBuffer buffer, long base, int from, int to) {
+        long ones = 0;
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = buffer.getLong(i);
+            // Every byte must be '0' (0x30) or '1' (0x31)
+            if ((word & ~LOW_BITS) != ASCII_ZEROS) {
+                throw notBinary(buffer, base, i, i + Long.BYTES);
+            }
+            ones += Long.bitCount(word & LOW_BITS);
+        }
+        for (; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b != '0' && b != '1') {
+                throw notBinary(buffer, base, i, i + 1);
+            }
+            ones += b & 1;
+        }
+        return ones;
+    }
+
+    /**
+     * Position of the first '1' before end, or -1; skips '0' digits a word at a time.
+     */
+    private static long firstOne(MappedByteBuffer[] mapped, long end) {
+        for (int w = 0; w < mapped.length; w++) {
+            long base = (long) w * MAP_WINDOW_BYTES;
+            int limit = (int) (Math.max(Math.min(end, base + MAP_WINDOW_BYTES), base) - base);
+            MappedByteBuffer buffer = mapped[w];
+            int i = 0;
+            while (i + Long.BYTES <= limit && buffer.getLong(i) == ASCII_ZEROS) {
+                i += Long.BYTES;
+            }
+            for (; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (b == '1') return base + i;
+                if (b != '0') throw notBinary(buffer, base, i, i + 1);
+            }
+        }
+        return -1;
+    }
+
+    private static byte byteAt(MappedByteBuffer[] mapped, long position) {
+        return mapped[(int) (position / MAP_WINDOW_BYTES)].get((int) (position % MAP_WINDOW_BYTES));
+    }
+
+    private static boolean isLineBreak(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    private static IllegalArgumentException notBinary(MappedByteBuffer buffer, long base, int from, int to) {
+        int i = from;
+        while (i < to - 1 && (buffer.get(i) == '0' || buffer.get(i) == '1')) {
+            i++;
+        }
+        return new IllegalArgumentException("Not a binary digit: byte " + (buffer.get(i) & 0xFF) + " at " + (base + i));
+    }
 }
@@ -1,4 +1,6 @@
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Task 3: Dice Rotation
@@ -10,6 +12,9 @@ import java.util.*;
  * - We check these two candidates and for each, calculate the cost to make row A uniform OR row B uniform.
  */
 class Solution {
+    // Dice per leaf task, and per early-abort check inside a leaf
+    private static final int PARALLEL_LEAF_SIZE = 1 << 16;
+    private static final int ABORT_CHECK_INTERVAL = 1 << 12;
 
     public int solution(int[] A, int[] B) {
         if (A == null || B == null || A.length == 0 || A.length != B.length) {
@@ -60,4 +65,177 @@ class Solution {
         
         return Math.min(rotA, rotB);
     }
+
+    /**
+     * Single-pass variant: both candidates are checked in one scan instead of up to two.
+     */
+    public int solutionSinglePass(int[] A, int[] B) {
+        if (A == null || B == null || A.length == 0 || A.length != B.length) {
+            return -1;
+        }
+        RotationContext context = new RotationContext(A, B);
+        return context.scan(0, A.length).minRotations();
+    }
+
+    public int solutionParallel(int[] A, int[] B) {
+        return solutionParallel(A, B, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parallel variant for very large inputs. The dice are split into ranges whose
+     * RotationCounts are combined by RotationTask; since combining is associative, the split
+     * does not change the result. Once both candidates have failed anywhere, every task stops.
+     */
+    public int solutionParallel(int[] A, int[] B, ForkJoinPool pool) {
+        if (A == null || B == null || A.length == 0 || A.length != B.length) {
+            return -1;
+        }
+        RotationContext context = new RotationContext(A, B);
+        return pool.invoke(new RotationTask(context, 0, A.length)).minRotations();
+    }
+
+    /**
+     * Partial result over a range of dice, for both candidates A[0] and B[0]: rotations to make
+     * row A and row B uniform, and whether every die in the range shows the candidate at all.
+     * combine() adds counts and ANDs flags, so it is associative with IDENTITY as the unit.
+     */
+    static final class RotationCounts {
+        static final RotationCounts IDENTITY = new RotationCounts(0, 0, true, 0, 0, true);
+        static final RotationCounts INFEASIBLE = new RotationCounts(0, 0, false, 0, 0, false);
+
+        final int topRotA;
+        final int topRotB;
+        final boolean topFeasible;
+        final int bottomRotA;
+        final int bottomRotB;
+        final boolean bottomFeasible;
+
+        RotationCounts(int topRotA, int topRotB, boolean topFeasible,
+                       int bottomRotA, int bottomRotB, boolean bottomFeasible) {
+            this.topRotA = topRotA;
+            this.topRotB = topRotB;
+            this.topFeasible = topFeasible;
+            this.bottomRotA = bottomRotA;
+            this.bottomRotB = bottomRotB;
+            this.bottomFeasible = bottomFeasible;
+        }
+
+        RotationCounts combine(RotationCounts other) {
+            boolean top = topFeasible && other.topFeasible;
+            boolean bottom = bottomFeasible && other.bottomFeasible;
+            if (!top && !bottom) return INFEASIBLE;
+            return new RotationCounts(topRotA + other.topRotA, topRotB + other.topRotB, top,
+                                      bottomRotA + other.bottomRotA, bottomRotB + other.bottomRotB, bottom);
+        }
+
+        /**
+         * Answer for the whole input, as solution() computes it.
+         */
+        int minRotations() {
+            int res = -1;
+            if (topFeasible) {
+                res = Math.min(topRotA, topRotB);
+            }
+            if (bottomFeasible) {
+                int res2 = Math.min(bottomRotA, bottomRotB);
+                res = res == -1 ? res2 : Math.min(res, res2);
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Shared state of one reduction: the inputs, the two candidates and one failure flag per
+     * candidate, so a range can stop as soon as both have failed anywhere.
+     */
+    private static final class RotationContext {
+        final int[] A;
+        final int[] B;
+        final int top;
+        final int bottom;
+        volatile boolean topFailed;
+        volatile boolean bottomFailed;
+
+        RotationContext(int[] A, int[] B) {
+            this.A = A;
+            this.B = B;
+            this.top = A[0];
+            this.bottom = B[0];
+        }
+
+        boolean bothFailed() {
+            return topFailed && bottomFailed;
+        }
+
+        /**
+         * minRotations() for both candidates over dice [from, to) in one pass.
+         */
+        RotationCounts scan(int from, int to) {
+            int topRotA = 0, topRotB = 0, bottomRotA = 0, bottomRotB = 0;
+            int topMissing = 0, bottomMissing = 0;
+            boolean topFeasible = true, bottomFeasible = true;
+
+            for (int blockStart = from; blockStart < to; blockStart += ABORT_CHECK_INTERVAL) {
+                if (bothFailed()) return RotationCounts.INFEASIBLE;
+
+                int blockEnd = Math.min(to, blockStart + ABORT_CHECK_INTERVAL);
+                for (int i = blockStart; i < blockEnd; i++) {
+                    int a = A[i];
+                    int b = B[i];
+
+                    // Branch-free form of minRotations(): 1 where a face shows the candidate
+                    int aTop = a == top ? 1 : 0;
+                    int bTop = b == top ? 1 : 0;
+                    topMissing |= (aTop | bTop) ^ 1;
+                    topRotA += aTop ^ 1;
+                    topRotB += aTop & (bTop ^ 1);
+
+                    int aBottom = a == bottom ? 1 : 0;
+                    int bBottom = b == bottom ? 1 : 0;
+                    bottomMissing |= (aBottom | bBottom) ^ 1;
+                    bottomRotA += aBottom ^ 1;
+                    bottomRotB += aBottom & (bBottom ^ 1);
+                }
+
+                topFeasible = topMissing == 0;
+                bottomFeasible = bottomMissing == 0;
+                if (!topFeasible) topFailed = true;
+                if (!bottomFeasible) bottomFailed = true;
+                if (!topFeasible && !bottomFeasible) return RotationCounts.INFEASIBLE;
+            }
+            return new RotationCounts(topRotA, topRotB, topFeasible, bottomRotA, bottomRotB, bottomFeasible);
+        }
+    }
+
+    /**
+     * RotationCounts of dice [from, to), split in halves down to PARALLEL_LEAF_SIZE.
+     */
+    private static final class RotationTask extends RecursiveTask<RotationCounts> {
+        private static final long serialVersionUID = 1L;
+
+        private final RotationContext context;
+        private final int from;
+        private final int to;
+
+        RotationTask(RotationContext context, int from, int to) {
+            this.context = context;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected RotationCounts compute() {
+            if (context.bothFailed()) return RotationCounts.INFEASIBLE;
+            if (to - from <= PARALLEL_LEAF_SIZE) {
+                return context.scan(from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+            RotationTask left = new RotationTask(context, from, mid);
+            RotationTask right = new RotationTask(context, mid, to);
+            left.fork();
+            RotationCounts rightCounts = right.compute();
+            return left.join().combine(rightCounts);
+        }
+    }
 }
\ No newline at end of file